@@ -0,0 +1,137 @@
+package com.oasis.backend.configurations;
+
+import com.oasis.backend.core.accesslog.AccessLogRecord;
+import com.oasis.backend.core.accesslog.AccessLogService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.UUID;
+
+/**
+ * The AccessLogFilter class records one {@link AccessLogRecord} per request.
+ * It runs before every other filter, Spring Security included, so the latency covers the whole request and
+ * rejected requests are logged too.
+ * <p></p>
+ * The user id is read from the {@link AccessLogService#USER_ID_ATTRIBUTE} request attribute set by the
+ * {@link JwtAuthenticationFilter}, as the security context is already cleared when the chain returns.
+ *
+ * @see AccessLogService
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class AccessLogFilter extends OncePerRequestFilter {
+    private final AccessLogService accessLogService;
+
+    @Override
+    @SneakyThrows
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) {
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        CountingResponse counting = new CountingResponse(response);
+
+        try {
+            filterChain.doFilter(request, counting);
+        } finally {
+            counting.flushWriter();
+            accessLogService.record(new AccessLogRecord(
+                    timestamp,
+                    request.getRemoteAddr(),
+                    request.getMethod(),
+                    request.getServletPath(),
+                    (UUID) request.getAttribute(AccessLogService.USER_ID_ATTRIBUTE),
+                    counting.getStatus(),
+                    System.nanoTime() - start,
+                    counting.bytes
+            ));
+        }
+    }
+
+    /**
+     * Response wrapper counting the bytes written to the body.
+     */
+    private static class CountingResponse extends HttpServletResponseWrapper {
+        private long bytes;
+        private ServletOutputStream stream;
+        private PrintWriter writer;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (stream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                stream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        bytes++;
+                    }
+
+                    @Override
+                    public void write(@NonNull byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        bytes += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        delegate.setWriteListener(listener);
+                    }
+                };
+            }
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            flushWriter();
+            super.flushBuffer();
+        }
+
+        void flushWriter() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.oasis.backend.configurations;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.oasis.backend.configurations.exceptions.ApiResponseExceptionHandler;
+import com.oasis.backend.models.bases.ApiResponse;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.SneakyThrows;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The ApiResponseWriter class writes {@link ApiResponse} bodies from the servlet filters and security handlers,
+ * which run outside of Spring MVC and its message converters.
+ * <p></p>
+ * It uses a writer derived once from the application {@link ObjectMapper}, so serializers are resolved only once
+ * and the Jackson configuration of the application applies. The responses that never change (sign out) are
+ * serialized at startup and written as plain bytes, and those that only differ by a few strings (unauthorized
+ * requests) are serialized at startup as a {@link Template} the strings are spliced into.
+ *
+ * @see JwtAuthenticationFilter
+ * @see LogoutHandler
+ * @see JwtAuthEntryPoint
+ */
+@Component
+public class ApiResponseWriter {
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] QUOTE = "\"".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectWriter writer;
+    private final ApiResponseExceptionHandler handler;
+
+    private final byte[] signOut;
+
+    public ApiResponseWriter(ObjectMapper objectMapper, ApiResponseExceptionHandler handler) {
+        this.writer = objectMapper.writerFor(ApiResponse.class);
+        this.handler = handler;
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("status", HttpServletResponse.SC_OK);
+        data.put("path", SecurityFilterConfiguration.LOGOUT_URL);
+        signOut = serialize(new ApiResponse<>("Sign out successful.", data, HttpStatus.OK));
+    }
+
+    /**
+     * Writes the response body for an exception raised while authenticating a request.
+     *
+     * @param response  The HTTP response.
+     * @param exception The exception.
+     */
+    public void write(HttpServletResponse response, Throwable exception) {
+        write(response, handler.handle(exception));
+    }
+
+    /**
+     * Serializes a response body once, leaving slots for strings that change on every response.
+     * Each slot is a placeholder string value of the body, which must appear once, in the order given.
+     *
+     * @param body  The body, holding the placeholders.
+     * @param slots The placeholders, in the order they are serialized.
+     * @return The template, to write with {@link #write(HttpServletResponse, Template, String...)}.
+     */
+    public Template template(ApiResponse<?> body, String... slots) {
+        String serialized = new String(serialize(body), StandardCharsets.UTF_8);
+        byte[][] parts = new byte[slots.length + 1][];
+
+        int start = 0;
+        for (int i = 0; i < slots.length; i++) {
+            String quoted = "\"" + slots[i] + "\"";
+            int index = serialized.indexOf(quoted, start);
+            if (index < 0) {
+                throw new IllegalArgumentException("Slot " + slots[i] + " is not in the serialized body");
+            }
+            parts[i] = serialized.substring(start, index).getBytes(StandardCharsets.UTF_8);
+            start = index + quoted.length();
+        }
+        parts[slots.length] = serialized.substring(start).getBytes(StandardCharsets.UTF_8);
+
+        return new Template(parts);
+    }
+
+    /**
+     * Writes a templated response body, with the values in place of its slots.
+     *
+     * @param response The HTTP response.
+     * @param template The template.
+     * @param values   The values of the slots, in order; {@code null} is written as a JSON null.
+     */
+    @SneakyThrows
+    public void write(HttpServletResponse response, Template template, String... values) {
+        byte[][] parts = template.parts();
+        byte[][] encoded = new byte[values.length][];
+        int length = 0;
+
+        for (int i = 0; i < values.length; i++) {
+            encoded[i] = values[i] == null ? null : JsonStringEncoder.getInstance().quoteAsUTF8(values[i]);
+            length += encoded[i] == null ? NULL.length : encoded[i].length + 2 * QUOTE.length;
+        }
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(length);
+        ServletOutputStream output = response.getOutputStream();
+        for (int i = 0; i < values.length; i++) {
+            output.write(parts[i]);
+            if (encoded[i] == null) {
+                output.write(NULL);
+            } else {
+                output.write(QUOTE);
+                output.write(encoded[i]);
+                output.write(QUOTE);
+            }
+        }
+        output.write(parts[values.length]);
+    }
+
+    /**
+     * Writes the response body of a successful sign out.
+     *
+     * @param response The HTTP response.
+     */
+    public void writeSignOut(HttpServletResponse response) {
+        write(response, signOut);
+    }
+
+    /**
+     * Serializes and writes a response body.
+     *
+     * @param response The HTTP response.
+     * @param body     The body to write.
+     */
+    @SneakyThrows
+    public void write(HttpServletResponse response, ApiResponse<?> body) {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        writer.writeValue(response.getOutputStream(), body);
+    }
+
+    @SneakyThrows
+    private void write(HttpServletResponse response, byte[] body) {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    @SneakyThrows
+    private byte[] serialize(ApiResponse<?> body) {
+        return writer.writeValueAsBytes(body);
+    }
+
+    /**
+     * A response body serialized at startup, cut around the slots filled in on every write.
+     *
+     * @param parts The serialized body before, between and after the slots.
+     */
+    public record Template(byte[][] parts) {
+    }
+}
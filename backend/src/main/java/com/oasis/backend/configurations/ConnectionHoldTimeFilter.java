@@ -0,0 +1,60 @@
+package com.oasis.backend.configurations;
+
+import com.oasis.backend.core.jdbc.ConnectionHoldTimeDataSource;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ConnectionHoldTimeFilter class reports, for every request that used the database, how many connections
+ * it fetched and how long it held them in total, as measured by the {@link ConnectionHoldTimeDataSource}.
+ * It runs right after the {@link AccessLogFilter}, so the connections of the security filters are counted too.
+ *
+ * @see JpaConfiguration
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class ConnectionHoldTimeFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+
+    private Timer holdTime;
+    private DistributionSummary connections;
+
+    @PostConstruct
+    protected void init() {
+        holdTime = Timer.builder("oasis.request.connection.hold")
+                .description("Time a request held database connections, summed over its connections")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        connections = DistributionSummary.builder("oasis.request.connections")
+                .description("Database connections fetched by a request")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @SneakyThrows
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) {
+        try (ConnectionHoldTimeDataSource.Tally tally = ConnectionHoldTimeDataSource.start()) {
+            filterChain.doFilter(request, response);
+
+            if (tally.getConnections() > 0) {
+                holdTime.record(tally.getNanos(), TimeUnit.NANOSECONDS);
+                connections.record(tally.getConnections());
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.oasis.backend.configurations;
+
+import com.oasis.backend.core.replica.ReplicaRoutingDataSource;
+import com.oasis.backend.core.replica.ReplicaService;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Configures a primary and a replica connection pool when a read replica is enabled. Otherwise, the single
+ * pool auto-configured from {@code spring.datasource} is used.
+ * <p></p>
+ * The application data source is a lazy proxy over the primary pool: a connection is only fetched when its first
+ * statement runs, by which time a {@code @Transactional(readOnly = true)} transaction has marked it read-only.
+ * Read-only connections are then fetched through the {@link ReplicaRoutingDataSource}, which picks a pool as
+ * decided by the {@link ReplicaService}. Each pool has its own Hikari settings, under
+ * {@code spring.datasource.hikari} and {@code application.datasource.replica.hikari}.
+ *
+ * @see ReplicaService
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.datasource.replica.enabled", havingValue = "true")
+public class DataSourceConfiguration {
+    private static final Logger log = LoggerFactory.getLogger(DataSourceConfiguration.class);
+
+    @Value("${application.datasource.replica.url}")
+    protected String REPLICA_URL;
+
+    @Value("${application.datasource.replica.username}")
+    protected String REPLICA_USERNAME;
+
+    @Value("${application.datasource.replica.password}")
+    protected String REPLICA_PASSWORD;
+
+    @Value("${spring.jpa.open-in-view}")
+    protected Boolean OPEN_IN_VIEW;
+
+    @PostConstruct
+    protected void init() {
+        if (OPEN_IN_VIEW) {
+            // The connection of the first transaction of a request would be kept for the later ones
+            log.warn("spring.jpa.open-in-view is enabled: a request reading before it writes may write to the replica");
+        }
+    }
+
+    /**
+     * Configures the primary pool, from the {@code spring.datasource} properties.
+     *
+     * @param properties The {@code spring.datasource} properties.
+     * @return The primary pool.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    /**
+     * Configures the replica pool. Its connections are read-only whatever the transaction asks for.
+     *
+     * @param properties The {@code spring.datasource} properties, for the driver.
+     * @return The replica pool.
+     */
+    @Bean
+    @ConfigurationProperties("application.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(REPLICA_URL)
+                .username(REPLICA_USERNAME)
+                .password(REPLICA_PASSWORD)
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+
+        return replica;
+    }
+
+    /**
+     * Configures the data source handing out the read-only connections.
+     *
+     * @param primary        The primary pool.
+     * @param replica        The replica pool.
+     * @param replicaService The service choosing between them.
+     * @return The routing data source.
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primary,
+            @Qualifier("replicaDataSource") HikariDataSource replica,
+            ReplicaService replicaService
+    ) {
+        return new ReplicaRoutingDataSource(primary, replica, replicaService);
+    }
+
+    /**
+     * Configures the data source used by the application.
+     *
+     * @param primary The primary pool, for the read-write connections.
+     * @param routing The routing data source, for the read-only connections.
+     * @return The application data source.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primary,
+            ReplicaRoutingDataSource routing
+    ) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(routing);
+
+        return dataSource;
+    }
+}
@@ -0,0 +1,124 @@
+package com.oasis.backend.configurations;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.oasis.backend.core.jdbc.ConnectionHoldTimeDataSource;
+import com.oasis.backend.core.jpa.LazyLoadGuard;
+import com.oasis.backend.models.TaskCategory;
+import com.oasis.backend.models.User;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * The JpaConfiguration class instruments the persistence layer. The session of a request is closed with its
+ * transaction ({@code spring.jpa.open-in-view} is disabled), so a connection is only held while a transaction runs.
+ * <p></p>
+ * It also provides the in-process cache regions of the Hibernate second-level and query caches. Each region is
+ * bounded in size and time, except the one holding the last change time of every table, which must outlive
+ * the query results it checks.
+ *
+ * @see LazyLoadGuard
+ * @see ConnectionHoldTimeFilter
+ * @see com.oasis.backend.core.cache.EntityCacheService
+ */
+@Configuration
+public class JpaConfiguration {
+    @Value("${application.entity-cache.users.maximum-size}")
+    protected Long USERS_MAXIMUM_SIZE;
+
+    @Value("${application.entity-cache.task-categories.maximum-size}")
+    protected Long TASK_CATEGORIES_MAXIMUM_SIZE;
+
+    @Value("${application.entity-cache.query-results.maximum-size}")
+    protected Long QUERY_RESULTS_MAXIMUM_SIZE;
+
+    @Value("${application.entity-cache.time-to-live}")
+    protected Duration TIME_TO_LIVE;
+
+    /**
+     * Configures the JCache manager holding the cache regions, backed by Caffeine.
+     *
+     * @return A CacheManager instance.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+
+        cacheManager.createCache(User.CACHE_REGION, region(USERS_MAXIMUM_SIZE));
+        cacheManager.createCache(User.QUERY_CACHE_REGION, region(QUERY_RESULTS_MAXIMUM_SIZE));
+        cacheManager.createCache(TaskCategory.CACHE_REGION, region(TASK_CATEGORIES_MAXIMUM_SIZE));
+        cacheManager.createCache(TaskCategory.QUERY_CACHE_REGION, region(QUERY_RESULTS_MAXIMUM_SIZE));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(QUERY_RESULTS_MAXIMUM_SIZE));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, new CaffeineConfiguration<>());
+
+        return cacheManager;
+    }
+
+    private CaffeineConfiguration<Object, Object> region(long maximumSize) {
+        return new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(maximumSize))
+                .setExpireAfterWrite(OptionalLong.of(TIME_TO_LIVE.toNanos()));
+    }
+
+    /**
+     * Hands the cache regions to Hibernate. A region missing from {@link #entityCacheManager()} fails the startup.
+     *
+     * @param entityCacheManager The JCache manager holding the cache regions.
+     * @return A HibernatePropertiesCustomizer instance.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * Registers the {@link LazyLoadGuard} with Hibernate.
+     *
+     * @param lazyLoadGuard The guard.
+     * @return A HibernatePropertiesCustomizer instance.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer lazyLoadGuardCustomizer(LazyLoadGuard lazyLoadGuard) {
+        return properties -> properties.put(
+                EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(lazyLoadGuard)
+        );
+    }
+
+    /**
+     * Wraps the application data source so that the {@link ConnectionHoldTimeFilter} can measure the connections
+     * of each request.
+     *
+     * @return A BeanPostProcessor instance.
+     */
+    @Bean
+    public static BeanPostProcessor connectionHoldTimePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return new ConnectionHoldTimeDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,6 +1,5 @@
 package com.oasis.backend.configurations;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.oasis.backend.models.bases.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -8,12 +7,11 @@ import lombok.SneakyThrows;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -23,6 +21,9 @@ import java.util.Map;
  * <p></p>
  * This component is responsible for returning a meaningful response when an unauthenticated user attempts to access
  * protected resources, typically due to an invalid or missing JWT token.
+ * <p></p>
+ * Every rejected token ends here, so the body is serialized once at startup and only the message and the path
+ * are spliced in on each response.
  *
  * @see AuthenticationEntryPoint
  */
@@ -33,6 +34,24 @@ public class JwtAuthEntryPoint implements AuthenticationEntryPoint {
      */
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthEntryPoint.class);
 
+    private static final String MESSAGE = "${message}";
+    private static final String PATH = "${path}";
+
+    private final ApiResponseWriter apiResponseWriter;
+    private final ApiResponseWriter.Template body;
+
+    public JwtAuthEntryPoint(ApiResponseWriter apiResponseWriter) {
+        this.apiResponseWriter = apiResponseWriter;
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("status", HttpServletResponse.SC_UNAUTHORIZED);
+        data.put("error", "Unauthorized");
+        data.put("message", MESSAGE);
+        data.put("path", PATH);
+
+        this.body = apiResponseWriter.template(new ApiResponse<>("Invalid token. Please login", data, HttpStatus.FORBIDDEN), MESSAGE, PATH);
+    }
+
     /**
      * Handles authentication failures by returning an unauthorized response with appropriate error details.
      *
@@ -43,27 +62,11 @@ public class JwtAuthEntryPoint implements AuthenticationEntryPoint {
     @Override
     @SneakyThrows
     public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException) {
-        logger.error("Unauthorized error: {}", authException.getMessage());
+        logger.debug("Unauthorized error: {}", authException.getMessage());
 
-        // Set response content type and status
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
 
-        ApiResponse<Map<String, Object>> apiResponse = getApiResponse(request, authException);
-
-        // Serialize ApiResponse object to JSON and write to response output stream
-        final ObjectMapper mapper = new ObjectMapper();
-        mapper.writeValue(response.getOutputStream(), apiResponse);
-    }
-
-    private ApiResponse<Map<String, Object>> getApiResponse(HttpServletRequest request, AuthenticationException exception) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("status", HttpServletResponse.SC_UNAUTHORIZED);
-        data.put("error", "Unauthorized");
-        data.put("message", exception.getMessage());
-        data.put("path", request.getServletPath());
-
-        // Create ApiResponse object with error details
-        return new ApiResponse<>("Invalid token. Please login", data, HttpStatus.FORBIDDEN);
+        // Splice the error details into the body serialized at startup
+        apiResponseWriter.write(response, body, authException.getMessage(), request.getServletPath());
     }
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package com.oasis.backend.configurations;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.oasis.backend.configurations.exceptions.ApiResponseExceptionHandler;
 import com.oasis.backend.configurations.exceptions.OasisException;
+import com.oasis.backend.core.accesslog.AccessLogService;
+import com.oasis.backend.core.jwt.JwtService;
+import com.oasis.backend.core.jwt.VerifiedToken;
+import com.oasis.backend.core.session.AuthenticatedUser;
 import com.oasis.backend.core.session.SessionService;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.SignatureException;
@@ -17,8 +20,6 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -27,19 +28,19 @@ import org.springframework.web.filter.OncePerRequestFilter;
  * It extends OncePerRequestFilter, ensuring that it is only executed once per request.
  * <p></p>
  * This filter intercepts incoming requests, extracts the JWT token from the Authorization header,
- * validates the token, loads user details, and sets up the authentication context if the token is valid.
+ * validates the token, builds the authenticated principal, and sets up the authentication context if the token is valid.
  * It also handles various exceptions related to JWT processing and authentication.
  *
  * @see OncePerRequestFilter
- * @see UserDetailsService
+ * @see JwtService
  * @see SessionService
  */
 @Configuration
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    private final UserDetailsService userDetailsService;
+    private final JwtService jwtService;
     private final SessionService sessionService;
-    private final ApiResponseExceptionHandler handler;
+    private final ApiResponseWriter apiResponseWriter;
 
     /**
      * Filters each incoming HTTP request and performs JWT authentication.
@@ -51,8 +52,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Override
     @SneakyThrows
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) {
-        System.out.printf("New Request from ip address: %s for %s%n", request.getRemoteAddr(), request.getServletPath());
-
         try {
             // Extract JWT token from the Authorization header
             String header = request.getHeader("Authorization");
@@ -69,26 +68,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                  | UnsupportedJwtException | IllegalArgumentException | StringIndexOutOfBoundsException e
         ) {
             SecurityContextHolder.clearContext();
-            new ObjectMapper().writeValue(response.getOutputStream(), handler.handle(e));
+            apiResponseWriter.write(response, e);
         }
     }
 
     private void authenticateJwtRequests(HttpServletRequest request, String header) {
         String jwt = header.substring(7);
 
-        var session = sessionService.validateSession(jwt);
+        // Parse and verify the token once; an unverifiable token leaves the request unauthenticated
+        VerifiedToken verified;
+        try {
+            verified = jwtService.verify(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            return;
+        }
+
+        var session = sessionService.validateSession(verified);
         if(session.getStatus().is2xxSuccessful()) {
             // If the user is not already authenticated, set up the authentication context
             if(SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(session.getData());
+                // The principal is built from the token claims and the cached session, without loading the user
+                AuthenticatedUser user = session.getData();
                 UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(
-                        userDetails,
+                        user,
                         null,
-                        userDetails.getAuthorities()
+                        user.getAuthorities()
                 );
                 token.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(token);
             }
+            request.setAttribute(AccessLogService.USER_ID_ATTRIBUTE, session.getData().getId());
         }
     }
 }
\ No newline at end of file
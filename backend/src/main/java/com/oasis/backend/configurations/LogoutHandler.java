@@ -1,37 +1,34 @@
 package com.oasis.backend.configurations;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oasis.backend.core.jwt.JwtService;
+import com.oasis.backend.core.jwt.VerifiedToken;
+import com.oasis.backend.core.session.AuthenticatedUser;
 import com.oasis.backend.core.session.SessionService;
 import com.oasis.backend.models.bases.ApiResponse;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Service responsible for handling user logout.
  * It implements its wrapper class {@link org.springframework.security.web.authentication.logout.LogoutHandler}
  *
+ * @see JwtService
  * @see SessionService
- * @see UserDetailsService
  */
 @Service
 @RequiredArgsConstructor
 public class LogoutHandler implements org.springframework.security.web.authentication.logout.LogoutHandler {
+    private final JwtService jwtService;
     private final SessionService sessionService;
-    private final UserDetailsService userDetailsService;
+    private final ApiResponseWriter apiResponseWriter;
 
     /**
      * Handles user logout by invalidating the session and signing out.
@@ -53,23 +50,20 @@ public class LogoutHandler implements org.springframework.security.web.authentic
             return;
         }
 
-        String jwt = header.substring(7);
-        var res = sessionService.validateSession(jwt);
+        VerifiedToken token;
+        try {
+            token = jwtService.verify(header.substring(7));
+        } catch (JwtException | IllegalArgumentException | StringIndexOutOfBoundsException e) {
+            return;
+        }
+
+        var res = sessionService.validateSession(token);
         if (res.getCode() == 200) {
             authenticate(request, res);
             sessionService.signOut();
 
-            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
             response.setStatus(HttpServletResponse.SC_OK);
-
-            Map<String, Object> data = new HashMap<>();
-            data.put("status", HttpServletResponse.SC_OK);
-            data.put("path", request.getServletPath());
-
-            ApiResponse<Map<String, Object>> message = new ApiResponse<>("Sign out successful.", data, HttpStatus.OK);
-
-            final ObjectMapper mapper = new ObjectMapper();
-            mapper.writeValue(response.getOutputStream(), message);
+            apiResponseWriter.writeSignOut(response);
         }
     }
 
@@ -82,12 +76,12 @@ public class LogoutHandler implements org.springframework.security.web.authentic
      * @see HttpServletRequest
      * @see ApiResponse
      */
-    private void authenticate(HttpServletRequest request, ApiResponse<String> res) {
-        UserDetails userDetails = this.userDetailsService.loadUserByUsername(res.getData());
+    private void authenticate(HttpServletRequest request, ApiResponse<AuthenticatedUser> res) {
+        AuthenticatedUser user = res.getData();
         UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(
-                userDetails,
+                user,
                 null,
-                userDetails.getAuthorities()
+                user.getAuthorities()
         );
         token.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
         SecurityContextHolder.getContext().setAuthentication(token);
@@ -0,0 +1,84 @@
+package com.oasis.backend.configurations;
+
+import com.oasis.backend.core.ratelimit.RateLimitPolicy;
+import com.oasis.backend.core.ratelimit.RateLimiter;
+import com.oasis.backend.core.session.AuthenticatedUser;
+import com.oasis.backend.models.bases.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The RateLimitFilter class limits how fast a single client can call the expensive endpoints.
+ * It runs right after the {@link JwtAuthenticationFilter}, so authenticated requests are keyed by user id
+ * and anonymous ones by IP address.
+ * <p></p>
+ * Requests over budget are answered with {@code 429 Too Many Requests}, a {@code Retry-After} header and
+ * an {@link ApiResponse} body.
+ *
+ * @see RateLimiter
+ * @see RateLimitPolicy
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final RateLimiter rateLimiter;
+    private final ApiResponseWriter apiResponseWriter;
+
+    @Override
+    @SneakyThrows
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) {
+        String path = request.getServletPath();
+        long wait = 0;
+
+        if (path.equals("/auth/login")) {
+            wait = rateLimiter.tryAcquire(RateLimitPolicy.LOGIN_BY_IP, request.getRemoteAddr());
+        } else if (path.equals("/auth/signup")) {
+            wait = rateLimiter.tryAcquire(RateLimitPolicy.SIGNUP_BY_IP, request.getRemoteAddr());
+        } else if (path.startsWith("/task/search")) {
+            wait = rateLimiter.tryAcquire(RateLimitPolicy.SEARCH_BY_USER, getClientKey(request));
+        } else if (path.startsWith("/task")) {
+            wait = rateLimiter.tryAcquire(RateLimitPolicy.TASK_BY_USER, getClientKey(request));
+        }
+
+        if (wait > 0) {
+            reject(response, wait);
+        } else {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private String getClientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId().toString();
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) {
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+
+        ApiResponse<Long> body = new ApiResponse<>(
+                "Too many requests. Please try again in %s seconds".formatted(seconds),
+                seconds,
+                HttpStatus.TOO_MANY_REQUESTS
+        );
+        apiResponseWriter.write(response, body);
+    }
+}
@@ -1,5 +1,6 @@
 package com.oasis.backend.configurations;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -33,8 +34,11 @@ import static org.springframework.security.config.http.SessionCreationPolicy.STA
 @EnableMethodSecurity
 @RequiredArgsConstructor
 public class SecurityFilterConfiguration {
+    static final String LOGOUT_URL = "/auth/logout";
+
     private final AuthenticationProvider authenticationProvider;
     private final JwtAuthenticationFilter jwtFilterConfiguration;
+    private final RateLimitFilter rateLimitFilter;
     private final LogoutHandler logoutHandler;
     private final AuthenticationEntryPoint authenticationEntryPoint;
     private final CorsConfigurationSource corsConfigurationSource;
@@ -53,6 +57,8 @@ public class SecurityFilterConfiguration {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(requests -> requests
                         // Define request matchers and their corresponding authorization rules
+                        // Async dispatches (such as the end of a task stream) were authorized on their first dispatch
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 // Public endpoints
                                 "/auth/**"
@@ -68,11 +74,13 @@ public class SecurityFilterConfiguration {
                 .authenticationProvider(authenticationProvider)
                 // Add JWT filter before UsernamePasswordAuthenticationFilter
                 .addFilterBefore(jwtFilterConfiguration, UsernamePasswordAuthenticationFilter.class)
+                // Rate limit once the JWT filter has identified the user
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
                 // Configure exception handling
                 .exceptionHandling(handler -> handler.authenticationEntryPoint(authenticationEntryPoint))
                 // Configure logout handling
                 .logout(httpSecurityLogoutConfigurer -> httpSecurityLogoutConfigurer
-                        .logoutUrl("/auth/logout")
+                        .logoutUrl(LOGOUT_URL)
                         .addLogoutHandler(logoutHandler)
                         .logoutSuccessHandler((request, response, authentication) -> SecurityContextHolder.clearContext())
                 );
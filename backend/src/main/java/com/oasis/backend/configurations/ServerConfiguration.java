@@ -1,7 +1,9 @@
 package com.oasis.backend.configurations;
 
+import com.oasis.backend.core.hashing.PasswordHashCalibration;
 import com.oasis.backend.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
@@ -13,18 +15,33 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @RequiredArgsConstructor
 public class ServerConfiguration {
     private final UserRepository userRepository;
 
+    @Value("${application.security.password-hashing.strength}")
+    protected Integer PASSWORD_HASHING_STRENGTH;
+
+    @Value("${application.security.password-hashing.target-time}")
+    protected Duration PASSWORD_HASHING_TARGET_TIME;
+
+    @Value("${application.security.password-hashing.min-strength}")
+    protected Integer PASSWORD_HASHING_MIN_STRENGTH;
+
+    @Value("${application.security.password-hashing.max-strength}")
+    protected Integer PASSWORD_HASHING_MAX_STRENGTH;
+
     /**
      * Configures an AuthenticationManager bean for managing authentication.
      *
@@ -64,12 +81,24 @@ public class ServerConfiguration {
 
     /**
      * Configures a PasswordEncoder bean for encoding passwords.
+     * <p></p>
+     * The BCrypt strength is either configured explicitly or calibrated at startup to the target hash time.
+     * Hashes are stored with a {@code {bcrypt}} prefix; older unprefixed hashes are still matched, and
+     * {@link PasswordEncoder#upgradeEncoding(String)} reports them, or any weaker hash, for a rehash.
      *
      * @return A PasswordEncoder instance.
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int strength = PASSWORD_HASHING_STRENGTH > 0
+                ? PASSWORD_HASHING_STRENGTH
+                : PasswordHashCalibration.strengthFor(PASSWORD_HASHING_TARGET_TIME, PASSWORD_HASHING_MIN_STRENGTH, PASSWORD_HASHING_MAX_STRENGTH);
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return encoder;
     }
 
     /**
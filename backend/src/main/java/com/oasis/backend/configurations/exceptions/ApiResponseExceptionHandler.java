@@ -24,19 +24,14 @@ public class ApiResponseExceptionHandler {
     }
 
     private ApiResponse<?> getApiResponse(Throwable e) {
-        ApiResponse<String> response = new ApiResponse<>(e.getMessage());
-
-        switch (e) {
-            case OasisException exception -> response = handler.handleOasisException(exception);
-            case ExpiredJwtException exception -> response = handler.handleExpiredJwtException(exception);
-            case UnsupportedJwtException exception -> response = handler.handleUnsupportedJwtException(exception);
-            case SignatureException exception -> response = handler.handleSignatureException(exception);
-            case StringIndexOutOfBoundsException exception -> response = handler.handleStringIndexOutOfBoundsException(exception);
-            case MalformedJwtException exception -> response = handler.handleMalformedJwtException(exception);
-            default -> {
-            }
-        }
-
-        return response;
+        return switch (e) {
+            case OasisException exception -> handler.handleOasisException(exception);
+            case ExpiredJwtException exception -> handler.handleExpiredJwtException(exception);
+            case UnsupportedJwtException exception -> handler.handleUnsupportedJwtException(exception);
+            case SignatureException exception -> handler.handleSignatureException(exception);
+            case StringIndexOutOfBoundsException exception -> handler.handleStringIndexOutOfBoundsException(exception);
+            case MalformedJwtException exception -> handler.handleMalformedJwtException(exception);
+            default -> new ApiResponse<>(e.getMessage());
+        };
     }
 }
\ No newline at end of file
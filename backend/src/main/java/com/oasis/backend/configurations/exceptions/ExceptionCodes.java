@@ -1,6 +1,49 @@
 package com.oasis.backend.configurations.exceptions;
 
+import org.springframework.http.HttpStatus;
+
+import java.util.Set;
+
 public class ExceptionCodes {
 
     public static final String INVALID_SESSION = "O999";
+
+    public static final String SERVICE_UNAVAILABLE = "O503";
+
+    public static final String TOO_MANY_REQUESTS = "O429";
+
+    public static final String INTERNAL_ERROR = "O500";
+
+    /**
+     * Codes of unexpected errors, whose stack trace is worth capturing.
+     */
+    private static final Set<String> STACK_TRACE_CODES = Set.of(INTERNAL_ERROR);
+
+    /**
+     * Maps an exception code to the HTTP status of its response.
+     *
+     * @param code The exception code, possibly {@code null}.
+     * @return The HTTP status, {@link HttpStatus#BAD_REQUEST} unless the code calls for another one.
+     */
+    public static HttpStatus status(String code) {
+        if (SERVICE_UNAVAILABLE.equals(code)) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        } else if (TOO_MANY_REQUESTS.equals(code)) {
+            return HttpStatus.TOO_MANY_REQUESTS;
+        } else if (INTERNAL_ERROR.equals(code)) {
+            return HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        return HttpStatus.BAD_REQUEST;
+    }
+
+    /**
+     * Tells whether an exception with this code should capture its stack trace.
+     * Expected business errors, including those without a code, do not.
+     *
+     * @param code The exception code, possibly {@code null}.
+     * @return {@code true} for unexpected errors, otherwise {@code false}.
+     */
+    public static boolean capturesStackTrace(String code) {
+        return code != null && STACK_TRACE_CODES.contains(code);
+    }
 }
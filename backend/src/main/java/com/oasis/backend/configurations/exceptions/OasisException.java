@@ -7,6 +7,9 @@ import lombok.Setter;
  * The OasisException class represents an exception related to any other Serch operations.
  * It extends the RuntimeException class, indicating that it is an unchecked exception.
  * <p></p>
+ * Most of these exceptions are expected business errors ("Task not found", "Invalid token") answered with a
+ * 4xx response, so they skip the stack trace unless {@link ExceptionCodes#capturesStackTrace(String)} asks for it.
+ * <p></p>
  * @see RuntimeException
  */
 @Getter
@@ -15,11 +18,11 @@ public class OasisException extends RuntimeException {
     private String code;
 
     public OasisException(String message) {
-        super(message);
+        this(null, message);
     }
 
     public OasisException(String code, String message) {
-        super(message);
+        super(message, null, false, ExceptionCodes.capturesStackTrace(code));
         this.code = code;
     }
 }
@@ -72,13 +72,13 @@ public class ServerExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(OasisException.class)
     public ApiResponse<String> handleOasisException(OasisException exception) {
-        log.error(exception.getMessage());
-
-        ApiResponse<String> response = new ApiResponse<>(exception.getMessage());
-        response.setData(exception.getCode());
-        response.setStatus(HttpStatus.BAD_REQUEST);
+        if(ExceptionCodes.capturesStackTrace(exception.getCode())) {
+            log.error(exception.getMessage(), exception);
+        } else {
+            log.debug(exception.getMessage());
+        }
 
-        return response;
+        return new ApiResponse<>(exception.getMessage(), exception.getCode(), ExceptionCodes.status(exception.getCode()));
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
@@ -133,7 +133,7 @@ public class ServerExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(BadCredentialsException.class)
     public ApiResponse<String> handleBadCredentialsException(BadCredentialsException exception) {
-        log.error(exception.getMessage());
+        log.debug(exception.getMessage());
 
         return new ApiResponse<>("Incorrect user details", HttpStatus.BAD_REQUEST);
     }
@@ -252,28 +252,28 @@ public class ServerExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(ExpiredJwtException.class)
     public ApiResponse<String> handleExpiredJwtException(ExpiredJwtException exception){
-        log.error(exception.getMessage());
+        log.debug(exception.getMessage());
 
         return new ApiResponse<>("Token is expired. Try login or request for another", HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(SignatureException.class)
     public ApiResponse<String> handleSignatureException(SignatureException exception){
-        log.error(exception.getMessage());
+        log.debug(exception.getMessage());
 
         return new ApiResponse<>("Error processing user token", HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(UnsupportedJwtException.class)
     public ApiResponse<String> handleUnsupportedJwtException(UnsupportedJwtException exception){
-        log.error(exception.getMessage());
+        log.debug(exception.getMessage());
 
         return new ApiResponse<>("Error reading user token", HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(MalformedJwtException.class)
     public ApiResponse<String> handleMalformedJwtException(MalformedJwtException exception){
-        log.error(exception.getMessage());
+        log.debug(exception.getMessage());
 
         return new ApiResponse<>("Incorrect token", HttpStatus.BAD_REQUEST);
     }
@@ -0,0 +1,232 @@
+package com.oasis.backend.core.accesslog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Implementation of the AccessLogService interface writing JSON lines from a background thread.
+ * It implements its wrapper class {@link AccessLogService}
+ * <p></p>
+ * Request threads only offer entries to a lock-free {@link AccessLogRing}. A single daemon thread drains
+ * the ring in batches, formats them and writes each batch with one call, either to standard output or to a
+ * file in the configured directory that rolls over every day (UTC). Entries that do not fit in the ring are
+ * dropped and counted in the {@code oasis.access.log.dropped} metric.
+ */
+@Service
+@RequiredArgsConstructor
+class AccessLogImplementation implements AccessLogService {
+    private static final Logger log = LoggerFactory.getLogger(AccessLogImplementation.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.access-log.enabled}")
+    protected Boolean ENABLED;
+
+    @Value("${application.access-log.capacity}")
+    protected Integer CAPACITY;
+
+    @Value("${application.access-log.batch-size}")
+    protected Integer BATCH_SIZE;
+
+    @Value("${application.access-log.directory}")
+    protected String DIRECTORY;
+
+    private AccessLogRing<AccessLogRecord> ring;
+    private Counter dropped;
+    private volatile boolean running;
+    private Thread writer;
+
+    private Writer output;
+    private LocalDate outputDate;
+
+    @PostConstruct
+    protected void start() {
+        if (!ENABLED) {
+            return;
+        }
+
+        ring = new AccessLogRing<>(CAPACITY);
+        dropped = Counter.builder("oasis.access.log.dropped")
+                .description("Access log entries dropped because the buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("oasis.access.log.pending", ring, AccessLogRing::size)
+                .description("Access log entries waiting for the writer")
+                .register(meterRegistry);
+
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("oasis-access-log-writer")
+                .daemon(true)
+                .start(this::drain);
+    }
+
+    @PreDestroy
+    protected void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Override
+    public boolean record(AccessLogRecord record) {
+        if (ring == null) {
+            return false;
+        }
+
+        if (ring.offer(record)) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    private void drain() {
+        StringBuilder batch = new StringBuilder(BATCH_SIZE * 160);
+
+        while (running || ring.size() > 0) {
+            int count = 0;
+            AccessLogRecord record;
+            while (count < BATCH_SIZE && (record = ring.poll()) != null) {
+                format(record, batch);
+                count++;
+            }
+
+            if (count == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+
+            write(batch);
+            batch.setLength(0);
+        }
+        close();
+    }
+
+    private void write(StringBuilder batch) {
+        try {
+            output().append(batch).flush();
+        } catch (IOException e) {
+            log.warn("Access log write failed: {}", e.getMessage());
+            close();
+        }
+    }
+
+    private Writer output() throws IOException {
+        if (DIRECTORY == null || DIRECTORY.isBlank()) {
+            if (output == null) {
+                output = writerFor(new FileOutputStream(FileDescriptor.out));
+            }
+            return output;
+        }
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        if (output == null || !today.equals(outputDate)) {
+            close();
+
+            Path directory = Path.of(DIRECTORY);
+            Files.createDirectories(directory);
+            output = writerFor(Files.newOutputStream(
+                    directory.resolve("access-" + today + ".log"),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND
+            ));
+            outputDate = today;
+        }
+        return output;
+    }
+
+    private static Writer writerFor(OutputStream stream) {
+        return new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+    }
+
+    private void close() {
+        if (output == null) {
+            return;
+        }
+
+        try {
+            output.flush();
+            // Never close the process standard output
+            if (outputDate != null) {
+                output.close();
+            }
+        } catch (IOException e) {
+            log.warn("Access log close failed: {}", e.getMessage());
+        }
+        output = null;
+        outputDate = null;
+    }
+
+    private static void format(AccessLogRecord record, StringBuilder builder) {
+        builder.append("{\"timestamp\":\"").append(Instant.ofEpochMilli(record.timestamp()))
+                .append("\",\"ip\":");
+        quote(record.ipAddress(), builder);
+        builder.append(",\"method\":");
+        quote(record.method(), builder);
+        builder.append(",\"path\":");
+        quote(record.path(), builder);
+        builder.append(",\"user_id\":");
+        if (record.userId() == null) {
+            builder.append("null");
+        } else {
+            builder.append('"').append(record.userId()).append('"');
+        }
+        builder.append(",\"status\":").append(record.status())
+                .append(",\"latency_ms\":").append(record.latencyNanos() / 1_000_000.0)
+                .append(",\"bytes\":").append(record.bytes())
+                .append("}\n");
+    }
+
+    private static void quote(String value, StringBuilder builder) {
+        if (value == null) {
+            builder.append("null");
+            return;
+        }
+
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        builder.append('"');
+    }
+}
@@ -0,0 +1,26 @@
+package com.oasis.backend.core.accesslog;
+
+import java.util.UUID;
+
+/**
+ * A single entry of the access log.
+ *
+ * @param timestamp     The epoch milliseconds at which the request was received.
+ * @param ipAddress     The remote address of the client.
+ * @param method        The HTTP method.
+ * @param path          The servlet path.
+ * @param userId        The id of the authenticated user, or {@code null} for anonymous requests.
+ * @param status        The HTTP status of the response.
+ * @param latencyNanos  The time spent handling the request.
+ * @param bytes         The number of bytes written to the response body.
+ */
+public record AccessLogRecord(
+        long timestamp,
+        String ipAddress,
+        String method,
+        String path,
+        UUID userId,
+        int status,
+        long latencyNanos,
+        long bytes
+) {}
@@ -0,0 +1,86 @@
+package com.oasis.backend.core.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free ring buffer with many producers and a single consumer.
+ * <p></p>
+ * Every slot carries a sequence number telling whose turn it is: a producer claims the next slot with a
+ * compare-and-set on the tail once the slot is free for its lap, fills it and publishes it by advancing the
+ * sequence. The consumer reads slots in order and hands them back for the next lap. A producer never waits;
+ * when the ring is full {@link #offer(Object)} fails at once.
+ *
+ * @param <T> The type of the elements.
+ */
+class AccessLogRing<T> {
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    AccessLogRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        mask = size - 1;
+        sequences = new AtomicLongArray(size);
+        elements = new AtomicReferenceArray<>(size);
+
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element, from any thread.
+     *
+     * @return {@code true} if the element was added, {@code false} if the ring was full.
+     */
+    boolean offer(T element) {
+        long position = tail.get();
+
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element. Must only be called from the consumer thread.
+     *
+     * @return The element, or {@code null} if the ring was empty.
+     */
+    T poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+
+        T element = elements.get(index);
+        elements.lazySet(index, null);
+        sequences.lazySet(index, head + mask + 1);
+        head++;
+        return element;
+    }
+
+    /**
+     * @return The approximate number of elements waiting in the ring.
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+}
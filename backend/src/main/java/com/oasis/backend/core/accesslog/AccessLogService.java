@@ -0,0 +1,25 @@
+package com.oasis.backend.core.accesslog;
+
+/**
+ * Service interface for the access log.
+ * <p>
+ * Recording an entry never blocks and never does I/O on the calling thread: entries are handed
+ * to a background writer and dropped if the writer falls too far behind.
+ * </p>
+ *
+ * @see AccessLogImplementation
+ */
+public interface AccessLogService {
+    /**
+     * Request attribute holding the id of the authenticated user, set by the authentication filter.
+     */
+    String USER_ID_ATTRIBUTE = AccessLogService.class.getName() + ".USER_ID";
+
+    /**
+     * Queues an entry for the background writer.
+     *
+     * @param record The entry to log.
+     * @return {@code true} if the entry was queued, {@code false} if it was dropped because the buffer was full.
+     */
+    boolean record(AccessLogRecord record);
+}
@@ -0,0 +1,70 @@
+package com.oasis.backend.core.cache;
+
+import com.oasis.backend.core.notification.NotificationService;
+import com.oasis.backend.core.replica.ReplicaService;
+import com.oasis.backend.models.TaskCategory;
+import com.oasis.backend.models.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Implementation of the EntityCacheService interface broadcasting the changes through the
+ * {@link NotificationService}. The payload is the kind of entity, the id of the user it belongs to and its id.
+ * It implements its wrapper class {@link EntityCacheService}
+ * <p></p>
+ * Query results cannot be dropped one by one, so a change drops every cached lookup of its kind of entity.
+ * The time-to-live of the cache regions bounds how long a node keeps stale entries when a broadcast is missed.
+ * The user is recorded as a writer before the entries are dropped, so that they are reloaded from the primary
+ * rather than from a replica that may not have the change yet.
+ */
+@Service
+@RequiredArgsConstructor
+class EntityCacheImplementation implements EntityCacheService {
+    static final String CHANGES_CHANNEL = "oasis_entity_cache_changes";
+
+    private static final String USER = "user";
+    private static final String CATEGORY = "category";
+
+    private final NotificationService notificationService;
+    private final ReplicaService replicaService;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private Cache cache;
+
+    @PostConstruct
+    protected void init() {
+        cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+
+        notificationService.subscribe(CHANGES_CHANNEL, payload -> {
+            String[] parts = payload.split(":", 3);
+            UUID userId = UUID.fromString(parts[1]);
+            replicaService.recordWrite(userId);
+
+            if (parts[0].equals(USER)) {
+                cache.evictEntityData(User.class, userId);
+                cache.evictQueryRegion(User.QUERY_CACHE_REGION);
+            } else if (parts[0].equals(CATEGORY)) {
+                if (!parts[2].isEmpty()) {
+                    cache.evictEntityData(TaskCategory.class, Long.valueOf(parts[2]));
+                }
+                cache.evictQueryRegion(TaskCategory.QUERY_CACHE_REGION);
+            }
+        });
+    }
+
+    @Override
+    public void userChanged(UUID userId) {
+        notificationService.publish(CHANGES_CHANNEL, USER + ":" + userId);
+    }
+
+    @Override
+    public void categoryChanged(UUID userId, Long categoryId) {
+        notificationService.publish(CHANGES_CHANNEL, CATEGORY + ":" + userId + ":" + (categoryId == null ? "" : categoryId));
+    }
+}
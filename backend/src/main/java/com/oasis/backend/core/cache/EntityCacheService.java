@@ -0,0 +1,31 @@
+package com.oasis.backend.core.cache;
+
+import java.util.UUID;
+
+/**
+ * Service interface for keeping the second-level and query caches of Hibernate consistent across nodes.
+ * <p>
+ * Hibernate updates the caches of the node that writes a cached entity, but the other nodes keep their copies,
+ * and no node notices rows written by native statements. This interface provides methods to announce such
+ * changes to every node, this one included, which drop the affected entries. When called inside a transaction,
+ * the announcement is delivered once the transaction commits.
+ * </p>
+ *
+ * @see EntityCacheImplementation
+ */
+public interface EntityCacheService {
+    /**
+     * Drops the cached copy of the user and every cached user lookup.
+     *
+     * @param userId The id of the user that was created or changed.
+     */
+    void userChanged(UUID userId);
+
+    /**
+     * Drops the cached copy of the category, if any, and every cached category lookup.
+     *
+     * @param userId     The id of the user owning the category.
+     * @param categoryId The id of the category that changed, or {@code null} when categories may have been created.
+     */
+    void categoryChanged(UUID userId, Long categoryId);
+}
@@ -0,0 +1,55 @@
+package com.oasis.backend.core.hashing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * The PasswordHashCalibration class picks the BCrypt work factor that best matches a target hash time
+ * on the hardware the application runs on.
+ * <p></p>
+ * Every step of the BCrypt strength doubles the work, so the time of a hash at the minimum strength is
+ * measured once and extrapolated to the highest strength that stays within the target.
+ */
+public class PasswordHashCalibration {
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashCalibration.class);
+    private static final int SAMPLES = 3;
+
+    /**
+     * Finds the BCrypt strength whose hash time is closest to, without exceeding, the target.
+     *
+     * @param target      The target time of a single hash.
+     * @param minStrength The lowest strength allowed, used when even it exceeds the target.
+     * @param maxStrength The highest strength allowed.
+     * @return The calibrated strength.
+     */
+    public static int strengthFor(Duration target, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        encoder.encode("calibration");
+
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        long measured = Math.max(samples[SAMPLES / 2], 1);
+
+        int strength = minStrength;
+        long estimate = measured;
+        while (strength < maxStrength && estimate * 2 <= target.toNanos()) {
+            strength++;
+            estimate *= 2;
+        }
+
+        log.info(
+                "Password hashing calibrated to strength {} (~{} ms per hash, target {} ms)",
+                strength, Duration.ofNanos(estimate).toMillis(), target.toMillis()
+        );
+        return strength;
+    }
+}
@@ -0,0 +1,128 @@
+package com.oasis.backend.core.hashing;
+
+import com.oasis.backend.configurations.exceptions.ExceptionCodes;
+import com.oasis.backend.configurations.exceptions.OasisException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Implementation of the PasswordHashingService interface running the password encoder on a bulkhead.
+ * It implements its wrapper class {@link PasswordHashingService}
+ * <p></p>
+ * The bulkhead is a fixed pool of workers in front of a bounded queue. A hash that cannot be queued, or
+ * that is not done within the configured timeout, is rejected with a service unavailable error.
+ */
+@Service
+@RequiredArgsConstructor
+class PasswordHashingImplementation implements PasswordHashingService {
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.security.password-hashing.workers}")
+    protected Integer WORKERS;
+
+    @Value("${application.security.password-hashing.queue-capacity}")
+    protected Integer QUEUE_CAPACITY;
+
+    @Value("${application.security.password-hashing.timeout}")
+    protected Duration TIMEOUT;
+
+    private ThreadPoolExecutor executor;
+    private Timer latency;
+    private Counter rejections;
+
+    @PostConstruct
+    protected void init() {
+        executor = new ThreadPoolExecutor(
+                WORKERS,
+                WORKERS,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                Thread.ofPlatform().name("oasis-password-hashing-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        Gauge.builder("oasis.password.hashing.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("oasis.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes being computed")
+                .register(meterRegistry);
+        latency = Timer.builder("oasis.password.hashing.latency")
+                .description("Time spent computing a password hash")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        rejections = Counter.builder("oasis.password.hashing.rejected")
+                .description("Password hashes rejected because the bulkhead was saturated")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> hash) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> latency.recordCallable(hash));
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+
+        try {
+            return future.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException exception) {
+                throw exception;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private OasisException busy() {
+        rejections.increment();
+        return new OasisException(ExceptionCodes.SERVICE_UNAVAILABLE, "The server is busy. Please try again shortly");
+    }
+}
@@ -0,0 +1,41 @@
+package com.oasis.backend.core.hashing;
+
+/**
+ * Service interface for hashing and checking user passwords.
+ * <p>
+ * Password hashing is deliberately CPU heavy. Implementations run it on a dedicated, bounded
+ * pool instead of the request thread, so that a burst of logins or sign-ups cannot take every
+ * servlet thread away from cheaper requests. When the pool is saturated the call fails fast
+ * with an {@link com.oasis.backend.configurations.exceptions.OasisException} carrying the
+ * {@link com.oasis.backend.configurations.exceptions.ExceptionCodes#SERVICE_UNAVAILABLE} code.
+ * </p>
+ *
+ * @see PasswordHashingImplementation
+ */
+public interface PasswordHashingService {
+    /**
+     * Hashes the given raw password.
+     *
+     * @param rawPassword The password to hash.
+     * @return The encoded password.
+     */
+    String encode(CharSequence rawPassword);
+
+    /**
+     * Checks whether the raw password matches the stored, encoded password.
+     *
+     * @param rawPassword     The password supplied by the user.
+     * @param encodedPassword The stored password hash.
+     * @return {@code true} if the passwords match, otherwise {@code false}.
+     */
+    boolean matches(CharSequence rawPassword, String encodedPassword);
+
+    /**
+     * Checks whether the stored password hash was produced with weaker or outdated parameters
+     * and should be replaced after the next successful login.
+     *
+     * @param encodedPassword The stored password hash.
+     * @return {@code true} if the password should be hashed again, otherwise {@code false}.
+     */
+    boolean needsRehash(String encodedPassword);
+}
@@ -0,0 +1,126 @@
+package com.oasis.backend.core.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The ConnectionHoldTimeDataSource class measures how long the connections fetched by the current thread are
+ * held, from the moment they are handed out until they are closed.
+ * <p></p>
+ * Nothing is measured unless the thread opened a {@link Tally} with {@link #start()}; the connections of the
+ * other threads are returned as is.
+ */
+public class ConnectionHoldTimeDataSource extends DelegatingDataSource {
+    private static final ThreadLocal<Tally> TALLY = new ThreadLocal<>();
+
+    public ConnectionHoldTimeDataSource(DataSource target) {
+        super(target);
+    }
+
+    /**
+     * Starts measuring the connections fetched by the current thread.
+     *
+     * @return The tally of the thread, to close once done.
+     */
+    public static Tally start() {
+        Tally tally = new Tally();
+        TALLY.set(tally);
+
+        return tally;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return measure(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return measure(super.getConnection(username, password));
+    }
+
+    private static Connection measure(Connection connection) {
+        Tally tally = TALLY.get();
+
+        if (tally == null) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionHoldTimeDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new Handler(connection, tally)
+        );
+    }
+
+    /**
+     * The connections fetched by a thread and the time they were held, in nanoseconds.
+     */
+    public static class Tally implements AutoCloseable {
+        private int connections;
+        private long nanos;
+
+        public int getConnections() {
+            return connections;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Stops measuring. A connection still open is not counted.
+         */
+        @Override
+        public void close() {
+            if (TALLY.get() == this) {
+                TALLY.remove();
+            }
+        }
+    }
+
+    private static class Handler implements InvocationHandler {
+        private final Connection target;
+        private final Tally tally;
+        private final long start = System.nanoTime();
+        private boolean closed;
+
+        private Handler(Connection target, Tally tally) {
+            this.target = target;
+            this.tally = tally;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        tally.connections++;
+                        tally.nanos += System.nanoTime() - start;
+                    }
+                }
+                default -> {
+                }
+            }
+
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.oasis.backend.core.jpa;
+
+import com.oasis.backend.enums.LazyLoadGuardMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEvent;
+import org.hibernate.event.spi.LoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The LazyLoadGuard class reports the lazy associations loaded outside a planned fetch: an uninitialized
+ * proxy or collection that runs its own query when first used.
+ * <p></p>
+ * Read paths select what they need in their query and write paths load the associations they use through an
+ * entity graph, so such a load is a hidden query to move into the query that loaded the entity. Depending on
+ * {@code application.jpa.lazy-load-guard}, it is ignored, logged with the stack trace of the caller, or
+ * rejected before the query runs. Every reported load is counted in the {@code oasis.jpa.lazy.loads} metric.
+ */
+@Component
+@RequiredArgsConstructor
+public class LazyLoadGuard implements Integrator, LoadEventListener, InitializeCollectionEventListener {
+    private static final Logger log = LoggerFactory.getLogger(LazyLoadGuard.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.jpa.lazy-load-guard}")
+    protected LazyLoadGuardMode MODE;
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        if (MODE == LazyLoadGuardMode.OFF) {
+            return;
+        }
+
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.prependListeners(EventType.LOAD, this);
+        registry.prependListeners(EventType.INIT_COLLECTION, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    @Override
+    public void onLoad(LoadEvent event, LoadType loadType) {
+        // Initializing a proxy is the only load not asked for by a query or a find
+        if (loadType == IMMEDIATE_LOAD) {
+            report(simpleName(event.getEntityClassName()), event.getEntityId());
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        String role = event.getCollection().getRole();
+        int property = role.lastIndexOf('.');
+
+        report(simpleName(role.substring(0, property)) + role.substring(property), event.getAffectedOwnerIdOrNull());
+    }
+
+    private void report(String association, Object ownerId) {
+        Counter.builder("oasis.jpa.lazy.loads")
+                .description("Lazy associations loaded outside a planned fetch")
+                .tag("association", association)
+                .register(meterRegistry)
+                .increment();
+
+        if (MODE == LazyLoadGuardMode.FAIL) {
+            throw new IllegalStateException("Lazy load of %s (%s) outside a planned fetch".formatted(association, ownerId));
+        }
+        log.warn("Lazy load of {} ({}) outside a planned fetch", association, ownerId, new Throwable("Loaded from"));
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
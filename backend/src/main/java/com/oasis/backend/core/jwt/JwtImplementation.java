@@ -1,10 +1,11 @@
 package com.oasis.backend.core.jwt;
 
 import com.oasis.backend.domains.auth.dtos.AuthDto;
-import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -13,7 +14,6 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 /**
  * Implementation of the JwtService interface for managing JWT operations.
@@ -28,39 +28,18 @@ class JwtImplementation implements JwtService {
     @Value("${application.security.jwt-expiration-time}")
     protected Long JWT_EXPIRATION_TIME;
 
-    /**
-     * Retrieves the signing key for JWT.
-     *
-     * @return The signing key.
-     */
-    protected Key getSigningKey() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(JWT_SECRET_KEY));
-    }
-
-    /**
-     * Parses and retrieves the claims from the given access token.
-     *
-     * @param accessToken The JWT access token.
-     * @return The claims extracted from the token.
-     */
-    protected Claims fetchClaims(String accessToken) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(accessToken)
-                .getBody();
-    }
+    private Key signingKey;
+    private JwtParser parser;
 
     /**
-     * Extracts specific claims from the JWT token.
-     *
-     * @param accessToken The JWT access token.
-     * @param fetch       The function to fetch the claims.
-     * @param <T>         The type of the claim.
-     * @return The extracted claim.
+     * Builds the signing key and the parser once, so that verifying a token does not re-derive the key.
      */
-    protected <T> T extractClaims(String accessToken, Function<Claims, T> fetch) {
-        return fetch.apply(fetchClaims(accessToken));
+    @PostConstruct
+    protected void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(JWT_SECRET_KEY));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     @Override
@@ -74,30 +53,15 @@ class JwtImplementation implements JwtService {
                 .builder()
                 .setClaims(data)
                 .setSubject(auth.getEmailAddress())
-                .setIssuer("Oasis")
+                .setIssuer(VerifiedToken.ISSUER)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + JWT_EXPIRATION_TIME))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     @Override
-    public boolean isTokenExpired(String accessToken) {
-        return extractClaims(accessToken, Claims::getExpiration).before(new Date());
-    }
-
-    @Override
-    public String getItemFromToken(String token, String identifier) {
-        return extractClaims(token, claims -> claims.get(identifier, String.class));
-    }
-
-    @Override
-    public boolean isTokenIssuedByOasis(String token) {
-        return extractClaims(token, Claims::getIssuer).equals("Oasis");
-    }
-
-    @Override
-    public String getEmailFromToken(String token) {
-        return extractClaims(token, Claims::getSubject);
+    public VerifiedToken verify(String token) {
+        return new VerifiedToken(token, parser.parseClaimsJws(token).getBody());
     }
 }
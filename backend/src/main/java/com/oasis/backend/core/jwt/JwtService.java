@@ -30,58 +30,17 @@ public interface JwtService {
     String generateToken(AuthDto auth);
 
     /**
-     * Checks whether the provided JWT token has expired.
+     * Parses the provided JWT token and verifies its signature.
      * <p>
-     * This method validates the expiration of the given JWT token by examining its
-     * claims. If the token has expired, it should not be accepted for further
-     * authentication or authorization operations.
+     * The token is parsed exactly once. The returned {@link VerifiedToken} holds the claims,
+     * so callers can check the expiration, issuer, subject and any custom claims without
+     * parsing the token again.
      * </p>
      *
-     * @param token The JWT token to be checked.
-     * @return {@code true} if the token has expired, otherwise {@code false}.
+     * @param token The JWT token to be verified.
+     * @return The {@link VerifiedToken} holding the parsed claims.
+     * @throws io.jsonwebtoken.JwtException If the token is expired, malformed or carries an invalid signature.
+     * @throws IllegalArgumentException If the token is empty.
      */
-    boolean isTokenExpired(String token);
-
-    /**
-     * Retrieves a specific item from the JWT token based on the provided identifier.
-     * <p>
-     * This method allows for extracting values from the token's claims using a specific
-     * identifier. This is useful for retrieving information like user roles, permissions,
-     * or any other custom claims embedded within the token.
-     * </p>
-     *
-     * @param token      The JWT token from which to retrieve the item.
-     * @param identifier The identifier of the item to retrieve from the token. This
-     *                   should correspond to the key used in the token's claims.
-     * @return The item value associated with the provided identifier, or {@code null}
-     *         if the identifier does not exist.
-     */
-    String getItemFromToken(String token, String identifier);
-
-    /**
-     * Checks if the provided JWT token has been issued by the Serch application.
-     * <p>
-     * This method verifies the issuer claim of the token to determine if it has
-     * been issued by the Serch application. This is important for security, as it
-     * ensures that only tokens generated by trusted sources are accepted.
-     * </p>
-     *
-     * @param token The JWT token to be checked.
-     * @return {@code true} if the token has been issued by Serch, otherwise
-     *         {@code false}.
-     */
-    boolean isTokenIssuedByOasis(String token);
-
-    /**
-     * Retrieves the email address associated with the provided JWT token.
-     * <p>
-     * This method extracts the email address from the token's claims, which can
-     * be useful for identifying the user or for personalized communications.
-     * </p>
-     *
-     * @param token The JWT token from which to retrieve the email address.
-     * @return The email address retrieved from the token, or {@code null}
-     *         if the email claim is not present.
-     */
-    String getEmailFromToken(String token);
+    VerifiedToken verify(String token);
 }
\ No newline at end of file
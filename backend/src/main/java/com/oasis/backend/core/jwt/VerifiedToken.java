@@ -0,0 +1,70 @@
+package com.oasis.backend.core.jwt;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * The VerifiedToken class holds the claims of an access token whose signature has already been checked.
+ * <p></p>
+ * It is returned by {@link JwtService#verify(String)}, so every claim needed while handling a request
+ * can be read without parsing the token again.
+ *
+ * @see JwtService
+ */
+@Getter
+@RequiredArgsConstructor
+public class VerifiedToken {
+    static final String ISSUER = "Oasis";
+
+    private final String token;
+    private final Claims claims;
+
+    /**
+     * Checks whether the token has expired.
+     *
+     * @return {@code true} if the token has expired, otherwise {@code false}.
+     */
+    public boolean isExpired() {
+        return claims.getExpiration().before(new Date());
+    }
+
+    /**
+     * Retrieves the instant the token was issued at, truncated to the second.
+     *
+     * @return The issue date, or {@code null} if the token carries none.
+     */
+    public Date getIssuedAt() {
+        return claims.getIssuedAt();
+    }
+
+    /**
+     * Retrieves a specific item from the token claims.
+     *
+     * @param identifier The key used in the token's claims.
+     * @return The item value, or {@code null} if the identifier does not exist.
+     */
+    public String getItem(String identifier) {
+        return claims.get(identifier, String.class);
+    }
+
+    /**
+     * Checks if the token has been issued by the Oasis application.
+     *
+     * @return {@code true} if the issuer claim is Oasis, otherwise {@code false}.
+     */
+    public boolean isIssuedByOasis() {
+        return ISSUER.equals(claims.getIssuer());
+    }
+
+    /**
+     * Retrieves the email address (subject) of the token.
+     *
+     * @return The email address held in the token.
+     */
+    public String getEmail() {
+        return claims.getSubject();
+    }
+}
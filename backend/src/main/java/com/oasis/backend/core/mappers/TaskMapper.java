@@ -3,8 +3,10 @@ package com.oasis.backend.core.mappers;
 import com.oasis.backend.domains.task.dto.TaskDto;
 import com.oasis.backend.domains.task.responses.TaskCategoryResponse;
 import com.oasis.backend.domains.task.responses.TaskResponse;
+import com.oasis.backend.domains.task.responses.TaskTombstoneResponse;
 import com.oasis.backend.models.Task;
 import com.oasis.backend.models.TaskCategory;
+import com.oasis.backend.models.TaskTombstone;
 import org.mapstruct.*;
 
 @Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE, componentModel = MappingConstants.ComponentModel.SPRING)
@@ -16,8 +18,14 @@ public interface TaskMapper {
     @Mapping(target = "category", source = "category", ignore = true)
     void update(TaskDto taskDto, @MappingTarget Task task);
 
+    @Mapping(target = "categoryId", source = "category.id")
     TaskResponse toResponse(Task task);
 
     @Mapping(target = "tasks", source = "tasks", ignore = true)
     TaskCategoryResponse toCategoryResponse(TaskCategory taskCategory);
+
+    @Mapping(target = "type", source = "entityType")
+    @Mapping(target = "id", source = "entityId")
+    @Mapping(target = "deletedAt", source = "createdAt")
+    TaskTombstoneResponse toTombstoneResponse(TaskTombstone tombstone);
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.oasis.backend.core.notification;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of the NotificationService interface backed by Postgres LISTEN/NOTIFY.
+ * It implements its wrapper class {@link NotificationService}
+ * <p></p>
+ * A single daemon thread holds one connection, issues LISTEN for every subscribed channel and
+ * dispatches the notifications it receives. If the connection drops, the thread reconnects and
+ * listens again; notifications published in between are lost, so subscribers must bound the
+ * staleness of their state on their own (for example with a time-to-live).
+ */
+@Service
+@RequiredArgsConstructor
+class NotificationImplementation implements NotificationService {
+    private static final Logger log = LoggerFactory.getLogger(NotificationImplementation.class);
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<String, List<Consumer<String>>> handlers = new ConcurrentHashMap<>();
+    private volatile boolean running;
+    private Thread listener;
+
+    @PostConstruct
+    protected void start() {
+        running = true;
+        listener = Thread.ofPlatform()
+                .name("oasis-notification-listener")
+                .daemon(true)
+                .start(this::listen);
+    }
+
+    @PreDestroy
+    protected void stop() {
+        running = false;
+        listener.interrupt();
+    }
+
+    @Override
+    public void publish(String channel, String payload) {
+        jdbcTemplate.query("select pg_notify(?, ?)", rs -> null, channel, payload);
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> handler) {
+        handlers.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                Set<String> listening = new HashSet<>();
+
+                while (running) {
+                    for (String channel : handlers.keySet()) {
+                        if (listening.add(channel)) {
+                            try (Statement statement = connection.createStatement()) {
+                                statement.execute("LISTEN " + channel);
+                            }
+                        }
+                    }
+
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Notification listener disconnected: {}", e.getMessage());
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void dispatch(PGNotification notification) {
+        for (Consumer<String> handler : handlers.getOrDefault(notification.getName(), List.of())) {
+            try {
+                handler.accept(notification.getParameter());
+            } catch (RuntimeException e) {
+                log.error("Notification handler failed on channel {}: {}", notification.getName(), e.getMessage());
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
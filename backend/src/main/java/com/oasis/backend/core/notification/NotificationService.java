@@ -0,0 +1,36 @@
+package com.oasis.backend.core.notification;
+
+import java.util.function.Consumer;
+
+/**
+ * Service interface for broadcasting messages to every node of the application.
+ * <p>
+ * This interface provides methods for publishing a payload on a named channel and for
+ * subscribing to the payloads published on that channel by any node, including this one.
+ * It is used to keep in-memory state, such as cached sessions, consistent across a
+ * multi-node deployment.
+ * </p>
+ *
+ * @see NotificationImplementation
+ */
+public interface NotificationService {
+    /**
+     * Publishes a payload on the given channel.
+     * <p>
+     * When called inside a transaction, the payload is delivered once the transaction commits.
+     * Payloads must stay under the 8000 byte limit of the underlying transport.
+     * </p>
+     *
+     * @param channel The channel name. It must be a plain SQL identifier.
+     * @param payload The payload to deliver to the subscribers.
+     */
+    void publish(String channel, String payload);
+
+    /**
+     * Subscribes a handler to the payloads published on the given channel.
+     *
+     * @param channel The channel name. It must be a plain SQL identifier.
+     * @param handler The handler invoked, on the listener thread, with every payload received.
+     */
+    void subscribe(String channel, Consumer<String> handler);
+}
@@ -0,0 +1,28 @@
+package com.oasis.backend.core.ratelimit;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * The RateLimitPolicy enum lists the request budgets enforced by the {@link RateLimiter}.
+ * <p></p>
+ * Each policy allows {@code permits} requests per {@code period} for one key, with bursts of up to
+ * {@code burst} requests.
+ */
+@Getter
+public enum RateLimitPolicy {
+    LOGIN_BY_IP(20, Duration.ofMinutes(1), 10),
+    LOGIN_BY_EMAIL(5, Duration.ofMinutes(1), 5),
+    SIGNUP_BY_IP(5, Duration.ofMinutes(1), 5),
+    SEARCH_BY_USER(10, Duration.ofSeconds(1), 20),
+    TASK_BY_USER(50, Duration.ofSeconds(1), 100);
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+
+    RateLimitPolicy(int permits, Duration period, int burst) {
+        this.emissionIntervalNanos = period.toNanos() / permits;
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+    }
+}
@@ -0,0 +1,80 @@
+package com.oasis.backend.core.ratelimit;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The RateLimiter class enforces the {@link RateLimitPolicy} budgets with lock-free token buckets.
+ * <p></p>
+ * Every policy owns a fixed array of buckets and a key is hashed onto one of them, so memory does not grow with
+ * the number of distinct keys. Keys that share a bucket share its budget, which can only make the limiter
+ * stricter, never looser. Each bucket is a single {@code long} holding its theoretical arrival time (the
+ * generic cell rate algorithm, equivalent to a token bucket), updated with a compare-and-set.
+ */
+@Component
+public class RateLimiter {
+    @Value("${application.rate-limit.enabled}")
+    protected Boolean ENABLED;
+
+    @Value("${application.rate-limit.buckets}")
+    protected Integer BUCKETS;
+
+    private final Map<RateLimitPolicy, AtomicLongArray> buckets = new EnumMap<>(RateLimitPolicy.class);
+    private final long origin = System.nanoTime();
+    private int mask;
+
+    @PostConstruct
+    protected void init() {
+        int size = Integer.highestOneBit(Math.max(BUCKETS - 1, 1)) << 1;
+        mask = size - 1;
+
+        for (RateLimitPolicy policy : RateLimitPolicy.values()) {
+            buckets.put(policy, new AtomicLongArray(size));
+        }
+    }
+
+    /**
+     * Takes one permit for the key from the policy budget.
+     *
+     * @param policy The policy to enforce.
+     * @param key    The key the budget belongs to, such as a user id, an IP address or an email address.
+     * @return {@code 0} if the request is allowed, otherwise the nanoseconds to wait before a permit is available.
+     */
+    public long tryAcquire(RateLimitPolicy policy, String key) {
+        if (!ENABLED) {
+            return 0;
+        }
+
+        AtomicLongArray array = buckets.get(policy);
+        int index = spread(key.hashCode()) & mask;
+        long interval = policy.getEmissionIntervalNanos();
+        long tolerance = policy.getBurstToleranceNanos();
+
+        while (true) {
+            // Offset by one interval so that an untouched bucket (0) starts full
+            long now = System.nanoTime() - origin + interval + tolerance;
+            long arrival = array.get(index);
+            long base = Math.max(arrival, now);
+
+            if (base - tolerance > now) {
+                return base - tolerance - now;
+            }
+            if (array.compareAndSet(index, arrival, base + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        return hash ^ (hash >>> 16);
+    }
+}
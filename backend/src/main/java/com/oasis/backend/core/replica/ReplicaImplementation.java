@@ -0,0 +1,207 @@
+package com.oasis.backend.core.replica;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oasis.backend.utils.UserUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of the ReplicaService interface tracking the writes of each user and the lag of the replica.
+ * It implements its wrapper class {@link ReplicaService}
+ * <p></p>
+ * Every committed read-write transaction of an authenticated user marks the user as a recent writer for the
+ * read-your-writes window, which should exceed the allowed lag. The other nodes mark the user when they receive
+ * the announcement of the change that drops their cached data, before dropping it, so the data they reload in
+ * the window comes from the primary.
+ * The replica lag is measured on a schedule, against the WAL position of the primary; a replica behind by more
+ * than the allowed delay, unreachable, or no longer receiving WAL, is skipped until a later check finds it caught
+ * up.
+ */
+@Service
+@RequiredArgsConstructor
+class ReplicaImplementation implements ReplicaService, TransactionExecutionListener {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaImplementation.class);
+
+    private static final String PRIMARY_POSITION_QUERY = "select pg_current_wal_lsn()::text";
+
+    /**
+     * Zero on a primary, or on a replica that replayed the WAL up to the given position of the primary. Null on a
+     * replica with no WAL receiver running, which falls further behind with every write however current it looks.
+     */
+    private static final String LAG_QUERY = """
+        select case
+            when not pg_is_in_recovery() then 0
+            when not exists (select 1 from pg_stat_wal_receiver) then null
+            when pg_last_wal_replay_lsn() >= ?::pg_lsn then 0
+            else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 'Infinity'::float8)
+        end
+    """;
+
+    private final ObjectProvider<ReplicaRoutingDataSource> routingDataSource;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.datasource.replica.enabled}")
+    protected Boolean ENABLED;
+
+    @Value("${application.datasource.replica.max-lag}")
+    protected Duration MAX_LAG;
+
+    @Value("${application.datasource.replica.read-your-writes}")
+    protected Duration READ_YOUR_WRITES;
+
+    @Value("${application.datasource.replica.read-your-writes-users}")
+    protected Long READ_YOUR_WRITES_USERS;
+
+    private final ThreadLocal<Route> route = new ThreadLocal<>();
+    private Cache<UUID, Boolean> writers;
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private volatile boolean usable;
+    private volatile double lag;
+    private Counter replicaReads;
+    private Counter primaryReads;
+
+    private enum Route { PRIMARY, REPLICA }
+
+    @PostConstruct
+    protected void init() {
+        writers = Caffeine.newBuilder()
+                .maximumSize(READ_YOUR_WRITES_USERS)
+                .expireAfterWrite(READ_YOUR_WRITES)
+                .build();
+
+        if (!ENABLED) {
+            return;
+        }
+
+        Gauge.builder("oasis.datasource.replica.lag", this, service -> service.lag)
+                .description("Seconds the replica is behind the primary, as of the last check")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("oasis.datasource.replica.usable", this, service -> service.usable ? 1 : 0)
+                .description("Whether read-only work is currently sent to the replica")
+                .register(meterRegistry);
+        replicaReads = Counter.builder("oasis.datasource.replica.reads")
+                .description("Read-only connections, by the pool they came from")
+                .tag("target", "replica")
+                .register(meterRegistry);
+        primaryReads = Counter.builder("oasis.datasource.replica.reads")
+                .description("Read-only connections, by the pool they came from")
+                .tag("target", "primary")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean useReplica() {
+        if (!ENABLED) {
+            return false;
+        }
+
+        Route forced = route.get();
+        boolean replicated = usable && forced != Route.PRIMARY && UserUtil.findCurrentUserId()
+                .map(user -> writers.getIfPresent(user) == null)
+                .orElse(forced == Route.REPLICA);
+
+        (replicated ? replicaReads : primaryReads).increment();
+        return replicated;
+    }
+
+    @Override
+    public <T> T onPrimary(Supplier<T> work) {
+        return on(Route.PRIMARY, work);
+    }
+
+    @Override
+    public <T> T onReplica(Supplier<T> work) {
+        return on(Route.REPLICA, work);
+    }
+
+    private <T> T on(Route target, Supplier<T> work) {
+        Route previous = route.get();
+        route.set(target);
+
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                route.remove();
+            } else {
+                route.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public void recordWrite(UUID userId) {
+        if (ENABLED) {
+            writers.put(userId, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            UserUtil.findCurrentUserId().ifPresent(this::recordWrite);
+        }
+    }
+
+    /**
+     * Measures how far the replica is behind and decides whether it may serve reads until the next check.
+     */
+    @Scheduled(fixedDelayString = "${application.datasource.replica.lag-check-interval}")
+    public void checkLag() {
+        if (!ENABLED) {
+            return;
+        }
+
+        boolean wasUsable = usable;
+        try {
+            if (replica == null) {
+                primary = new JdbcTemplate(routingDataSource.getObject().getPrimary());
+                replica = new JdbcTemplate(routingDataSource.getObject().getReplica());
+            }
+
+            // Read first, so the replica only needs to have replayed what the primary had written by then
+            String position = primary.queryForObject(PRIMARY_POSITION_QUERY, String.class);
+            Double seconds = replica.queryForObject(LAG_QUERY, Double.class, position);
+            if (seconds == null) {
+                lag = Double.POSITIVE_INFINITY;
+                usable = false;
+                if (wasUsable) {
+                    log.warn("Replica is not receiving WAL from the primary, reading from the primary until it does");
+                }
+                return;
+            }
+            lag = seconds;
+            usable = lag * 1000 <= MAX_LAG.toMillis();
+
+            if (wasUsable && !usable) {
+                log.warn("Replica is {}s behind the primary, reading from the primary until it catches up", lag);
+            } else if (!wasUsable && usable) {
+                log.info("Replica is {}s behind the primary, reading from the replica", lag);
+            }
+        } catch (RuntimeException e) {
+            usable = false;
+            if (wasUsable) {
+                log.warn("Replica lag check failed, reading from the primary until it succeeds", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.oasis.backend.core.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * The ReplicaRoutingDataSource class hands out the read-only connections, from the replica pool or from the
+ * primary pool as decided by the {@link ReplicaService} when the connection is fetched.
+ * <p></p>
+ * It is installed as the read-only data source of a lazy connection proxy, so it is only asked for a connection
+ * once the first statement of a read-only transaction runs. Write connections never reach it.
+ *
+ * @see ReplicaService
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaService replicaService;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaService replicaService) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaService = replicaService;
+
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    /**
+     * Returns the primary pool itself, bypassing the routing.
+     *
+     * @return The primary pool.
+     */
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    /**
+     * Returns the replica pool itself, bypassing the routing.
+     *
+     * @return The replica pool.
+     */
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return replicaService.useReplica() ? REPLICA : PRIMARY;
+    }
+}
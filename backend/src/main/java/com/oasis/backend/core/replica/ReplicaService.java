@@ -0,0 +1,57 @@
+package com.oasis.backend.core.replica;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Service interface for deciding where read-only work reads from when a read replica is configured.
+ * <p>
+ * Read-only transactions of an authenticated user go to the replica, unless the user wrote within the
+ * read-your-writes window or the replica lags behind the primary by more than the allowed delay. Writes are
+ * known to the node serving them and, through {@link #recordWrite(UUID)}, to the nodes told about them.
+ * Read-only transactions without an authenticated user go to the primary, since the writes they depend on
+ * (a signup, a login) cannot be tracked, unless they opt in with {@link #onReplica(Supplier)}.
+ * Without a replica, everything goes to the primary.
+ * </p>
+ *
+ * @see ReplicaImplementation
+ * @see ReplicaRoutingDataSource
+ */
+public interface ReplicaService {
+    /**
+     * Tells whether a read-only connection requested now by the current thread may come from the replica.
+     *
+     * @return {@code true} to read from the replica, {@code false} to read from the primary.
+     */
+    boolean useReplica();
+
+    /**
+     * Runs the given work with every read-only connection it opens taken from the primary.
+     * Work joining a transaction opened earlier keeps the connection of that transaction.
+     *
+     * @param work The work to run.
+     * @return The result of the work.
+     * @param <T> The type of the result.
+     */
+    <T> T onPrimary(Supplier<T> work);
+
+    /**
+     * Runs the given work with its read-only connections taken from the replica whenever it is usable, even
+     * without an authenticated user. The caller must cope with rows written too recently to be replicated.
+     *
+     * @param work The work to run.
+     * @return The result of the work.
+     * @param <T> The type of the result.
+     */
+    <T> T onReplica(Supplier<T> work);
+
+    /**
+     * Records that the user wrote, so that their reads go to the primary for the read-your-writes window.
+     * Writes committed on this node are recorded on their own; this is for the changes another node announced.
+     * It must be called before dropping the cached data of the change, so that reloading it cannot read the
+     * replica from before the change.
+     *
+     * @param userId The id of the user.
+     */
+    void recordWrite(UUID userId);
+}
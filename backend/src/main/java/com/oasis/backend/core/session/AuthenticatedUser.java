@@ -0,0 +1,44 @@
+package com.oasis.backend.core.session;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The AuthenticatedUser class is the principal stored in the security context for requests carrying a valid
+ * access token.
+ * <p></p>
+ * It is built from the verified token claims and the cached session, so authenticating a request does not load
+ * the {@link com.oasis.backend.models.User} entity. Use {@link com.oasis.backend.utils.UserUtil#getUser()} when
+ * the managed entity is really needed.
+ *
+ * @see SessionService#validateSession(com.oasis.backend.core.jwt.VerifiedToken)
+ */
+@Getter
+@RequiredArgsConstructor
+public class AuthenticatedUser implements UserDetails {
+    private final UUID id;
+    private final String emailAddress;
+    private final String firstName;
+    private final String lastName;
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of();
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return emailAddress;
+    }
+}
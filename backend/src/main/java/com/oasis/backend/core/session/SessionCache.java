@@ -0,0 +1,105 @@
+package com.oasis.backend.core.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oasis.backend.core.notification.NotificationService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * The SessionCache class keeps bounded, time-to-live evicted copies of the session rows and of the
+ * per-user revocation epochs read while validating access tokens, so that most requests do not reach
+ * the database.
+ * <p></p>
+ * Revoking the sessions of a user moves the user's epoch forward. The new epoch is applied locally and
+ * broadcast to the other nodes through the {@link NotificationService}. The time-to-live bounds how
+ * long a node may keep an old epoch if a broadcast is missed.
+ *
+ * @see SessionImplementation
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionCache {
+    static final String REVOCATION_CHANNEL = "oasis_session_revocations";
+
+    private final NotificationService notificationService;
+
+    @Value("${application.session.cache.maximum-size}")
+    protected Long MAXIMUM_SIZE;
+
+    @Value("${application.session.cache.time-to-live}")
+    protected Duration TIME_TO_LIVE;
+
+    private Cache<UUID, SessionEntry> sessions;
+    private Cache<UUID, Long> epochs;
+
+    /**
+     * The cached state of a session.
+     *
+     * @param userId  The id of the user owning the session.
+     * @param email   The email address of the user owning the session.
+     * @param revoked Whether the session row itself was revoked.
+     */
+    public record SessionEntry(UUID userId, String email, boolean revoked) {}
+
+    @PostConstruct
+    protected void init() {
+        sessions = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(TIME_TO_LIVE)
+                .build();
+        epochs = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(TIME_TO_LIVE)
+                .build();
+
+        notificationService.subscribe(REVOCATION_CHANNEL, payload -> {
+            String[] parts = payload.split(":");
+            advance(UUID.fromString(parts[0]), Long.parseLong(parts[1]));
+        });
+    }
+
+    /**
+     * Returns the cached session, loading it when it is absent or has expired.
+     *
+     * @param sessionId The session id.
+     * @param loader    The function reading the session from the database.
+     * @return The session entry.
+     */
+    public SessionEntry get(UUID sessionId, Function<UUID, SessionEntry> loader) {
+        return sessions.get(sessionId, loader);
+    }
+
+    /**
+     * Returns the epoch, in seconds, before which the access tokens of the user are rejected.
+     *
+     * @param userId The user id.
+     * @param loader The function reading the epoch from the database.
+     * @return The epoch second, or {@code 0} if the user has never revoked a session.
+     */
+    public long tokensValidAfter(UUID userId, Function<UUID, Long> loader) {
+        return epochs.get(userId, loader);
+    }
+
+    /**
+     * Moves the epoch of the user forward on this node and tells the other nodes to do the same.
+     *
+     * @param userId The user id.
+     * @param epoch  The new epoch second.
+     */
+    public void revoke(UUID userId, long epoch) {
+        advance(userId, epoch);
+        notificationService.publish(REVOCATION_CHANNEL, userId + ":" + epoch);
+    }
+
+    private void advance(UUID userId, long epoch) {
+        // Users that are not cached read the new epoch from the database on their next request
+        epochs.asMap().computeIfPresent(userId, (id, current) -> Math.max(current, epoch));
+    }
+}
@@ -3,9 +3,12 @@ package com.oasis.backend.core.session;
 import com.oasis.backend.configurations.exceptions.ExceptionCodes;
 import com.oasis.backend.configurations.exceptions.OasisException;
 import com.oasis.backend.core.jwt.JwtService;
+import com.oasis.backend.core.jwt.VerifiedToken;
 import com.oasis.backend.core.mappers.UserMapper;
+import com.oasis.backend.core.replica.ReplicaService;
 import com.oasis.backend.domains.auth.dtos.AuthDto;
 import com.oasis.backend.domains.auth.responses.AuthResponse;
+import com.oasis.backend.domains.task.stream.TaskStreamService;
 import com.oasis.backend.models.Session;
 import com.oasis.backend.models.User;
 import com.oasis.backend.models.bases.ApiResponse;
@@ -13,13 +16,13 @@ import com.oasis.backend.repositories.SessionRepository;
 import com.oasis.backend.repositories.UserRepository;
 import com.oasis.backend.utils.TimeUtil;
 import com.oasis.backend.utils.UserUtil;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.MalformedJwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -27,15 +30,21 @@ import java.util.UUID;
  * It implements its wrapper class {@link SessionService}
  *
  * @see SessionRepository
+ * @see SessionCache
  * @see JwtService
  * @see UserRepository
+ * @see ReplicaService
+ * @see TaskStreamService
  */
 @Service
 @RequiredArgsConstructor
 public class SessionImplementation implements SessionService {
     private final SessionRepository sessionRepository;
+    private final SessionCache sessionCache;
     private final JwtService jwtService;
     private final UserRepository userRepository;
+    private final ReplicaService replicaService;
+    private final TaskStreamService taskStreamService;
 
     @Override
     public ApiResponse<AuthResponse> generateSession(AuthDto auth) {
@@ -51,18 +60,19 @@ public class SessionImplementation implements SessionService {
         return new ApiResponse<>(response);
     }
 
+    /**
+     * Revokes every session of the user by moving the user's epoch to the current second.
+     * <p></p>
+     * Token issue times only carry whole seconds, so a token issued earlier within the same
+     * second as the revocation is still accepted. A session generated right after the
+     * revocation is always accepted. The task streams opened with the revoked sessions are closed.
+     */
     private void revokeSessions(UUID userId) {
-        List<Session> sessions = sessionRepository.findAllUserNonRevoked(userId);
-
-        if(!sessions.isEmpty()) {
-            sessions.forEach(session -> {
-                if(!session.getRevoked()) {
-                    session.setRevoked(true);
-                    session.setUpdatedAt(TimeUtil.now());
-                    sessionRepository.save(session);
-                }
-            });
-        }
+        ZonedDateTime epoch = TimeUtil.now().truncatedTo(ChronoUnit.SECONDS);
+
+        userRepository.updateTokensValidAfter(userId, epoch);
+        sessionCache.revoke(userId, epoch.toEpochSecond());
+        taskStreamService.disconnect(userId);
     }
 
     private void generateAndFetchSessionId(AuthDto auth, User user) {
@@ -74,46 +84,67 @@ public class SessionImplementation implements SessionService {
     }
 
     @Override
-    public ApiResponse<String> validateSession(String token) {
+    public ApiResponse<AuthenticatedUser> validateSession(VerifiedToken token) {
         try {
-            if(jwtService.isTokenExpired(token)) {
-                throw new OasisException("Your session has expired. Please login", ExceptionCodes.INVALID_SESSION);
+            if(token.isExpired()) {
+                throw new OasisException(ExceptionCodes.INVALID_SESSION, SESSION_EXPIRED);
             }
 
-            String email = jwtService.getEmailFromToken(token);
+            String email = token.getEmail();
             try {
-                UUID sessionId = UUID.fromString(jwtService.getItemFromToken(token, "session"));
-
-                Session session = sessionRepository.findById(sessionId)
-                        .orElseThrow(() -> new OasisException("Invalid token"));
-                User user = userRepository.findBySessions_Id(sessionId).orElseThrow(() -> new OasisException("User not found"));
-
-                if(user.getEmailAddress().equals(email) && jwtService.isTokenIssuedByOasis(token) && !session.getRevoked()) {
-                    return new ApiResponse<>("Token is valid", email, HttpStatus.OK);
+                UUID sessionId = UUID.fromString(token.getItem("session"));
+
+                SessionCache.SessionEntry session = sessionCache.get(sessionId, this::loadSession);
+
+                if(session.email().equals(email) && token.isIssuedByOasis() && !session.revoked()
+                        && isIssuedAfterRevocation(token, session.userId())) {
+                    AuthenticatedUser user = new AuthenticatedUser(
+                            session.userId(),
+                            email,
+                            token.getItem("first_name"),
+                            token.getItem("last_name")
+                    );
+                    return new ApiResponse<>("Token is valid", user, HttpStatus.OK);
                 } else {
                     return new ApiResponse<>("Invalid token");
                 }
             } catch (IllegalArgumentException e) {
-                throw new OasisException("Invalid session. Please login", ExceptionCodes.INVALID_SESSION);
+                throw new OasisException(ExceptionCodes.INVALID_SESSION, SESSION_INVALID);
             }
-        } catch (ExpiredJwtException e) {
-            return new ApiResponse<>("Token has expired. Please login");
-        } catch (MalformedJwtException e) {
-            return new ApiResponse<>("Invalid token. Please login to continue");
         } catch (Exception e) {
             return new ApiResponse<>("Invalid token. Please verify your token or login again");
         }
     }
 
+    /**
+     * Loads a session from the replica, or from the primary when the session is too recent to be replicated.
+     * Revocation epochs are always read from the primary, as reads without an authenticated user are.
+     */
+    private SessionCache.SessionEntry loadSession(UUID sessionId) {
+        return replicaService.onReplica(() -> findSession(sessionId))
+                .or(() -> replicaService.onPrimary(() -> findSession(sessionId)))
+                .orElseThrow(() -> new OasisException("Invalid token"));
+    }
+
+    private Optional<SessionCache.SessionEntry> findSession(UUID sessionId) {
+        return sessionRepository.findById(sessionId).flatMap(session -> userRepository.findBySessions_Id(sessionId)
+                .map(user -> new SessionCache.SessionEntry(user.getId(), user.getEmailAddress(), session.getRevoked())));
+    }
+
+    private boolean isIssuedAfterRevocation(VerifiedToken token, UUID userId) {
+        long epoch = sessionCache.tokensValidAfter(userId, id -> userRepository.findTokensValidAfterById(id)
+                .map(ZonedDateTime::toEpochSecond)
+                .orElse(0L));
+
+        return token.getIssuedAt() != null && token.getIssuedAt().toInstant().getEpochSecond() >= epoch;
+    }
+
     @Override
     public void signOut() {
         try {
-            var user = userRepository.findByEmailAddressIgnoreCase(UserUtil.getLoggedInUser())
-                    .orElseThrow(() -> new OasisException("User not found"));
-
-            revokeSessions(user.getId());
+            revokeSessions(UserUtil.currentUserId());
         } catch (IllegalArgumentException e) {
-            throw new OasisException("Invalid session. Please login", ExceptionCodes.INVALID_SESSION);
+            throw new OasisException(ExceptionCodes.INVALID_SESSION, SESSION_INVALID);
         }
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.oasis.backend.core.session;
 
+import com.oasis.backend.core.jwt.VerifiedToken;
 import com.oasis.backend.domains.auth.dtos.AuthDto;
 import com.oasis.backend.domains.auth.responses.AuthResponse;
 import com.oasis.backend.models.bases.ApiResponse;
@@ -15,6 +16,16 @@ import com.oasis.backend.models.bases.ApiResponse;
  * @see SessionImplementation
  */
 public interface SessionService {
+    /**
+     * Message of the error raised for an expired session.
+     */
+    String SESSION_EXPIRED = "Your session has expired. Please login";
+
+    /**
+     * Message of the error raised for a session that does not exist or was revoked.
+     */
+    String SESSION_INVALID = "Invalid session. Please login";
+
     /**
      * Generates a new session based on the provided request.
      * <p>
@@ -32,20 +43,23 @@ public interface SessionService {
     ApiResponse<AuthResponse> generateSession(AuthDto auth);
 
     /**
-     * Validates the authenticity and expiration of a session token.
+     * Validates the session carried by an already verified token.
      * <p>
-     * This method checks if the provided session token is valid, ensuring it has not expired
+     * This method checks if the provided token is valid, ensuring it has not expired
      * and is associated with an active session. It returns an API response indicating whether
-     * the session is valid, along with any relevant status messages.
+     * the session is valid, along with any relevant status messages. The token signature is
+     * verified once by {@link com.oasis.backend.core.jwt.JwtService#verify(String)} beforehand.
+     * A valid session carries the {@link AuthenticatedUser} to store in the security context.
      * </p>
      *
-     * @param token The session token to validate.
+     * @param token The verified token to validate.
      *
      * @return ApiResponse indicating the validation status and any associated messages.
      *
      * @see ApiResponse
+     * @see AuthenticatedUser
      */
-    ApiResponse<String> validateSession(String token);
+    ApiResponse<AuthenticatedUser> validateSession(VerifiedToken token);
 
     /**
      * Signs out the user by revoking all sessions and refresh tokens.
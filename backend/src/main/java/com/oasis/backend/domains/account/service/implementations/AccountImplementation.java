@@ -1,5 +1,6 @@
 package com.oasis.backend.domains.account.service.implementations;
 
+import com.oasis.backend.core.cache.EntityCacheService;
 import com.oasis.backend.core.mappers.UserMapper;
 import com.oasis.backend.core.session.SessionService;
 import com.oasis.backend.domains.account.dto.AccountDto;
@@ -18,12 +19,14 @@ public class AccountImplementation implements AccountService {
     private final UserUtil userUtil;
     private final SessionService sessionService;
     private final UserRepository userRepository;
+    private final EntityCacheService entityCacheService;
 
     @Override
     public ApiResponse<AuthResponse> update(AccountDto account) {
         User user = userUtil.getUser();
         UserMapper.instance.updateUser(account, user);
         userRepository.save(user);
+        entityCacheService.userChanged(user.getId());
 
         return sessionService.generateSession(UserMapper.instance.toAuthDto(user));
     }
@@ -1,7 +1,12 @@
 package com.oasis.backend.domains.auth.services.implementations;
 
+import com.oasis.backend.configurations.exceptions.ExceptionCodes;
 import com.oasis.backend.configurations.exceptions.OasisException;
+import com.oasis.backend.core.cache.EntityCacheService;
+import com.oasis.backend.core.hashing.PasswordHashingService;
 import com.oasis.backend.core.mappers.UserMapper;
+import com.oasis.backend.core.ratelimit.RateLimitPolicy;
+import com.oasis.backend.core.ratelimit.RateLimiter;
 import com.oasis.backend.core.session.SessionService;
 import com.oasis.backend.domains.auth.dtos.LoginDto;
 import com.oasis.backend.domains.auth.dtos.SignupDto;
@@ -11,28 +16,58 @@ import com.oasis.backend.models.User;
 import com.oasis.backend.models.bases.ApiResponse;
 import com.oasis.backend.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.TimeUnit;
+
 @Service
 @RequiredArgsConstructor
 public class AuthImplementation implements AuthService {
     private final SessionService sessionService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final UserRepository userRepository;
+    private final RateLimiter rateLimiter;
+    private final EntityCacheService entityCacheService;
 
     @Override
     public ApiResponse<AuthResponse> login(LoginDto login) {
+        if(login.getEmailAddress() != null) {
+            long wait = rateLimiter.tryAcquire(RateLimitPolicy.LOGIN_BY_EMAIL, login.getEmailAddress().toLowerCase());
+            if(wait > 0) {
+                throw new OasisException(
+                        ExceptionCodes.TOO_MANY_REQUESTS,
+                        "Too many login attempts. Please try again in %s seconds".formatted(TimeUnit.NANOSECONDS.toSeconds(wait) + 1)
+                );
+            }
+        }
+
         User user = userRepository.findByEmailAddressIgnoreCase(login.getEmailAddress())
                 .orElseThrow(() -> new OasisException("User not found"));
 
-        if(passwordEncoder.matches(login.getPassword(), user.getPassword())) {
+        if(passwordHashingService.matches(login.getPassword(), user.getPassword())) {
+            rehashPassword(user, login.getPassword());
             return sessionService.generateSession(UserMapper.instance.toAuthDto(user));
         } else {
             throw new OasisException("Incorrect user details. Check your email address and password");
         }
     }
 
+    /**
+     * Replaces a password hash made with outdated parameters. The login never fails because of it:
+     * when the hashing bulkhead is saturated, the rehash is simply retried on a later login.
+     */
+    private void rehashPassword(User user, String password) {
+        if(passwordHashingService.needsRehash(user.getPassword())) {
+            try {
+                user.setPassword(passwordHashingService.encode(password));
+                userRepository.save(user);
+                entityCacheService.userChanged(user.getId());
+            } catch (OasisException ignored) {
+                // Keep the current hash until a later login
+            }
+        }
+    }
+
     @Override
     public ApiResponse<AuthResponse> signup(SignupDto signup) {
         User existing = userRepository.findByEmailAddressIgnoreCase(signup.getEmailAddress()).orElse(null);
@@ -41,8 +76,10 @@ public class AuthImplementation implements AuthService {
             throw new OasisException("User already exists");
         } else {
             User user = UserMapper.instance.toUser(signup);
-            user.setPassword(passwordEncoder.encode(signup.getPassword()));
+            user.setPassword(passwordHashingService.encode(signup.getPassword()));
             userRepository.save(user);
+            // Other nodes may have cached that no user had this email address
+            entityCacheService.userChanged(user.getId());
 
             return sessionService.generateSession(UserMapper.instance.toAuthDto(user));
         }
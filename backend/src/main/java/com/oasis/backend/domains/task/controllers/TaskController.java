@@ -1,29 +1,43 @@
 package com.oasis.backend.domains.task.controllers;
 
+import com.oasis.backend.domains.task.dto.TaskBatchDto;
 import com.oasis.backend.domains.task.dto.TaskDto;
+import com.oasis.backend.domains.task.responses.TaskBatchResponse;
 import com.oasis.backend.domains.task.responses.TaskCategoryResponse;
+import com.oasis.backend.domains.task.responses.TaskChangesResponse;
+import com.oasis.backend.domains.task.responses.TaskPageResponse;
 import com.oasis.backend.domains.task.responses.TaskResponse;
 import com.oasis.backend.domains.task.service.TaskService;
 import com.oasis.backend.models.bases.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/task")
 public class TaskController {
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final TaskService service;
 
     @GetMapping
     public ResponseEntity<ApiResponse<List<TaskCategoryResponse>>> get(
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer size
+            @RequestParam(required = false) Integer size,
+            WebRequest request
     ) {
-        ApiResponse<List<TaskCategoryResponse>> response = service.get(page, size);
-        return new ResponseEntity<>(response, response.getStatus());
+        return conditional(request, () -> service.get(page, size));
     }
 
     @GetMapping("/search")
@@ -31,9 +45,55 @@ public class TaskController {
             @RequestParam String query,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer size
+            @RequestParam(required = false) Integer size,
+            WebRequest request
+    ) {
+        return conditional(request, () -> service.search(query, category, page, size));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<TaskPageResponse>> page(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        ApiResponse<TaskPageResponse> response = service.list(category, after, limit);
+        return new ResponseEntity<>(response, response.getStatus());
+    }
+
+    @GetMapping("/search/page")
+    public ResponseEntity<ApiResponse<TaskPageResponse>> searchPage(
+            @RequestParam String query,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        ApiResponse<TaskPageResponse> response = service.search(query, category, after, limit);
+        return new ResponseEntity<>(response, response.getStatus());
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse<TaskChangesResponse>> changes(@RequestParam(required = false) Instant since) {
+        ApiResponse<TaskChangesResponse> response = service.changes(since);
+        return new ResponseEntity<>(response, response.getStatus());
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            HttpServletResponse response
+    ) {
+        // Ask reverse proxies not to buffer the events
+        response.setHeader("X-Accel-Buffering", "no");
+        return service.stream(lastEventId);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<String>>> suggest(
+            @RequestParam String query,
+            @RequestParam(required = false) Integer limit
     ) {
-        ApiResponse<List<TaskResponse>> response = service.search(query, category, page, size);
+        ApiResponse<List<String>> response = service.suggest(query, limit);
         return new ResponseEntity<>(response, response.getStatus());
     }
 
@@ -43,6 +103,12 @@ public class TaskController {
         return new ResponseEntity<>(response, response.getStatus());
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<TaskBatchResponse>> batch(@RequestBody TaskBatchDto dto) {
+        ApiResponse<TaskBatchResponse> response = service.batch(dto);
+        return new ResponseEntity<>(response, response.getStatus());
+    }
+
     @PatchMapping("/update/{id}")
     public ResponseEntity<ApiResponse<TaskResponse>> update(@RequestBody TaskDto dto, @PathVariable("id") Long id) {
         ApiResponse<TaskResponse> response = service.update(id, dto);
@@ -57,4 +123,19 @@ public class TaskController {
         ApiResponse<List<TaskResponse>> response = service.delete(id, category);
         return new ResponseEntity<>(response, response.getStatus());
     }
+
+    /**
+     * Answers with {@code 304 Not Modified} when the client already holds the current version of the user's tasks,
+     * before any query runs, and otherwise with the response tagged with that version.
+     */
+    private <T> ResponseEntity<ApiResponse<T>> conditional(WebRequest request, Supplier<ApiResponse<T>> loader) {
+        String version = service.getVersion();
+
+        if (request.checkNotModified(version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version).cacheControl(REVALIDATE).build();
+        }
+
+        ApiResponse<T> response = loader.get();
+        return ResponseEntity.status(response.getStatus()).eTag(version).cacheControl(REVALIDATE).body(response);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.oasis.backend.domains.task.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A batch of task changes applied in one transaction.
+ * <p></p>
+ * In a batch, the category of an update names the category to move the task to (created if needed),
+ * rather than a new title for the current category.
+ */
+@Data
+public class TaskBatchDto {
+    private List<TaskDto> create;
+    private List<TaskUpdateDto> update;
+    private List<Long> delete;
+}
@@ -0,0 +1,10 @@
+package com.oasis.backend.domains.task.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class TaskUpdateDto extends TaskDto {
+    private Long id;
+}
@@ -0,0 +1,12 @@
+package com.oasis.backend.domains.task.responses;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskBatchResponse {
+    private List<TaskBatchResult> create;
+    private List<TaskBatchResult> update;
+    private List<TaskBatchResult> delete;
+}
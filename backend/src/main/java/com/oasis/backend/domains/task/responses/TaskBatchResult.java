@@ -0,0 +1,26 @@
+package com.oasis.backend.domains.task.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The outcome of one item of a batch, in the order of the request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchResult {
+    private Long id;
+    private Boolean success;
+    private String message;
+    private TaskResponse task;
+
+    public static TaskBatchResult success(TaskResponse task) {
+        return new TaskBatchResult(task.getId(), true, "Successful", task);
+    }
+
+    public static TaskBatchResult failure(Long id, String message) {
+        return new TaskBatchResult(id, false, message, null);
+    }
+}
@@ -1,12 +1,22 @@
 package com.oasis.backend.domains.task.responses;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.util.List;
 
 @Data
+@NoArgsConstructor
 public class TaskCategoryResponse {
     private Long id;
     private String title;
     private List<TaskResponse> tasks;
+
+    /**
+     * Constructor of the category projections, which leave the tasks out.
+     */
+    public TaskCategoryResponse(Long id, String title) {
+        this.id = id;
+        this.title = title;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.oasis.backend.domains.task.responses;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+public class TaskChangesResponse {
+    /**
+     * Tasks created or updated since the watermark, or every task when {@link #reset} is set.
+     */
+    private List<TaskResponse> tasks;
+
+    /**
+     * Categories created or renamed since the watermark, or every category when {@link #reset} is set.
+     * Their tasks are not included.
+     */
+    private List<TaskCategoryResponse> categories;
+
+    /**
+     * Tasks and categories deleted since the watermark.
+     */
+    private List<TaskTombstoneResponse> deleted;
+
+    /**
+     * Set when the watermark was missing or older than the change log, in which case the response holds the
+     * full state and the client must drop anything it has that is not in it.
+     */
+    private Boolean reset;
+
+    /**
+     * Watermark to pass as {@code since} on the next call.
+     */
+    @JsonProperty("next_since")
+    private Instant nextSince;
+}
@@ -0,0 +1,20 @@
+package com.oasis.backend.domains.task.responses;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskPageResponse {
+    private List<TaskResponse> tasks;
+
+    /**
+     * Opaque cursor to pass as {@code after} to fetch the next page, or {@code null} on the last page.
+     */
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+
+    @JsonProperty("has_more")
+    private Boolean hasMore;
+}
@@ -3,12 +3,16 @@ package com.oasis.backend.domains.task.responses;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.oasis.backend.enums.TaskPriority;
 import com.oasis.backend.enums.TaskStatus;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.ZonedDateTime;
 import java.util.Date;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class TaskResponse {
     private Long id;
     private String title;
@@ -16,6 +20,9 @@ public class TaskResponse {
     private TaskPriority priority;
     private TaskStatus status;
 
+    @JsonProperty("category_id")
+    private Long categoryId;
+
     @JsonProperty("due_date")
     private Date dueDate;
 
@@ -24,4 +31,22 @@ public class TaskResponse {
 
     @JsonProperty("updated_at")
     private ZonedDateTime updatedAt;
+
+    /**
+     * Constructor of the {@code TaskResponse} result set mapping of native queries (see {@link com.oasis.backend.models.Task}),
+     * which read the priority and status columns as text.
+     */
+    public TaskResponse(
+            Long id,
+            String title,
+            String description,
+            String priority,
+            String status,
+            Long categoryId,
+            Date dueDate,
+            ZonedDateTime createdAt,
+            ZonedDateTime updatedAt
+    ) {
+        this(id, title, description, TaskPriority.valueOf(priority), TaskStatus.valueOf(status), categoryId, dueDate, createdAt, updatedAt);
+    }
 }
\ No newline at end of file
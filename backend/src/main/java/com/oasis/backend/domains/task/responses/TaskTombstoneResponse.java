@@ -0,0 +1,16 @@
+package com.oasis.backend.domains.task.responses;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.oasis.backend.enums.TaskTombstoneType;
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+
+@Data
+public class TaskTombstoneResponse {
+    private TaskTombstoneType type;
+    private Long id;
+
+    @JsonProperty("deleted_at")
+    private ZonedDateTime deletedAt;
+}
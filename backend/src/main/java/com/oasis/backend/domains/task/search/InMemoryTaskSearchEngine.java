@@ -0,0 +1,186 @@
+package com.oasis.backend.domains.task.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oasis.backend.core.mappers.TaskMapper;
+import com.oasis.backend.core.notification.NotificationService;
+import com.oasis.backend.core.replica.ReplicaService;
+import com.oasis.backend.domains.task.responses.TaskCategoryResponse;
+import com.oasis.backend.domains.task.responses.TaskResponse;
+import com.oasis.backend.models.Task;
+import com.oasis.backend.repositories.TaskCategoryRepository;
+import com.oasis.backend.repositories.TaskRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Implementation of the TaskSearchEngine interface answering searches from in-memory inverted indexes.
+ * It implements its wrapper class {@link TaskSearchEngine}
+ * <p></p>
+ * The index of a user is built from the database on the first search and then kept up to date with the changes
+ * reported by the task service, once their transaction commits. Indexes are held in a cache bounded by their
+ * estimated size, so the least recently used users are dropped first. Changes made on another node are
+ * announced through the {@link NotificationService} and drop the local index of that user, to be rebuilt on the
+ * next search from the primary, see {@link ReplicaService#recordWrite(UUID)}.
+ * <p></p>
+ * It is not a drop-in replacement for the {@link PostgresTaskSearchEngine}, the default: the index does not stem
+ * words, matches every query term as a whole lowercased word, including the last one, and has no
+ * {@code or} or {@code -} operators. Enable it with {@code application.task.search.engine=memory} where that
+ * matching is acceptable.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "application.task.search.engine", havingValue = "memory")
+class InMemoryTaskSearchEngine implements TaskSearchEngine {
+    static final String CHANGES_CHANNEL = "oasis_task_search_changes";
+
+    private final TaskRepository taskRepository;
+    private final TaskCategoryRepository taskCategoryRepository;
+    private final TaskMapper taskMapper;
+    private final NotificationService notificationService;
+    private final ReplicaService replicaService;
+
+    @Value("${application.task.search.memory.maximum-size}")
+    protected DataSize MAXIMUM_SIZE;
+
+    private final String node = UUID.randomUUID().toString();
+    private Cache<UUID, TaskIndex> indexes;
+
+    @PostConstruct
+    protected void init() {
+        indexes = Caffeine.newBuilder()
+                .maximumWeight(MAXIMUM_SIZE.toBytes())
+                .weigher((UUID userId, TaskIndex index) -> index.estimateSize())
+                .build();
+
+        notificationService.subscribe(CHANGES_CHANNEL, payload -> {
+            String[] parts = payload.split(":");
+            if (!parts[0].equals(node)) {
+                UUID userId = UUID.fromString(parts[1]);
+                replicaService.recordWrite(userId);
+                indexes.invalidate(userId);
+            }
+        });
+    }
+
+    @Override
+    public List<TaskResponse> search(UUID userId, String category, String query, int page, int size) {
+        TaskIndex index = indexes.get(userId, this::build);
+
+        synchronized (index) {
+            return index.search(category, query, page * size, size);
+        }
+    }
+
+    @Override
+    public void index(UUID userId, Task task) {
+        indexAll(userId, List.of(task));
+    }
+
+    @Override
+    public void indexAll(UUID userId, List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        // Read the tasks now, while their session is open
+        List<Indexed> changes = tasks.stream()
+                .map(task -> new Indexed(
+                        task.getCategory().getId(),
+                        Hibernate.isInitialized(task.getCategory()) ? task.getCategory().getTitle() : null,
+                        taskMapper.toResponse(task)
+                ))
+                .toList();
+
+        afterCommit(userId, () -> update(userId, index -> {
+            for (Indexed change : changes) {
+                if (change.categoryTitle() != null) {
+                    index.putCategory(change.categoryId(), change.categoryTitle());
+                } else if (!index.hasCategory(change.categoryId())) {
+                    return false;
+                }
+
+                index.put(change.categoryId(), change.task());
+            }
+            return true;
+        }));
+    }
+
+    @Override
+    public void remove(UUID userId, Long taskId) {
+        removeAll(userId, List.of(taskId));
+    }
+
+    @Override
+    public void removeAll(UUID userId, List<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+
+        afterCommit(userId, () -> update(userId, index -> {
+            taskIds.forEach(index::remove);
+            return true;
+        }));
+    }
+
+    @Override
+    public void invalidate(UUID userId) {
+        afterCommit(userId, () -> indexes.invalidate(userId));
+    }
+
+    private TaskIndex build(UUID userId) {
+        TaskIndex index = new TaskIndex();
+        for (TaskCategoryResponse category : taskCategoryRepository.findResponsesByUserId(userId)) {
+            index.putCategory(category.getId(), category.getTitle());
+        }
+        for (TaskResponse task : taskRepository.findResponsesByUserId(userId)) {
+            index.put(task.getCategoryId(), task);
+        }
+        return index;
+    }
+
+    /**
+     * Applies a change to the index of the user, if it is loaded. Going through the map keeps the change
+     * ordered after a concurrent build of the same index, and lets the cache weigh the index again.
+     * A change that cannot be applied drops the index instead.
+     */
+    private void update(UUID userId, Predicate<TaskIndex> change) {
+        indexes.asMap().computeIfPresent(userId, (key, index) -> {
+            synchronized (index) {
+                return change.test(index) ? index : null;
+            }
+        });
+    }
+
+    /**
+     * Announces the change to the other nodes and applies it locally once the current transaction, if any,
+     * commits. The notification joins the transaction too, and Postgres only delivers it on commit.
+     */
+    private void afterCommit(UUID userId, Runnable action) {
+        notificationService.publish(CHANGES_CHANNEL, node + ":" + userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Indexed(long categoryId, String categoryTitle, TaskResponse task) {}
+}
@@ -0,0 +1,56 @@
+package com.oasis.backend.domains.task.search;
+
+import com.oasis.backend.domains.task.responses.TaskResponse;
+import com.oasis.backend.models.Task;
+import com.oasis.backend.repositories.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Implementation of the TaskSearchEngine interface running the full text query on Postgres.
+ * It implements its wrapper class {@link TaskSearchEngine}
+ * <p></p>
+ * The database is always up to date, so changes need no bookkeeping.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "application.task.search.engine", havingValue = "postgres", matchIfMissing = true)
+class PostgresTaskSearchEngine implements TaskSearchEngine {
+    private final TaskRepository taskRepository;
+
+    @Override
+    public List<TaskResponse> search(UUID userId, String category, String query, int page, int size) {
+        String tsQuery = TaskSearchQuery.toTsQuery(query);
+        if (tsQuery == null) {
+            return List.of();
+        }
+
+        return taskRepository.fullTextSearch(tsQuery, userId, category, PageRequest.of(page, size))
+                .getContent();
+    }
+
+    @Override
+    public void index(UUID userId, Task task) {
+    }
+
+    @Override
+    public void indexAll(UUID userId, List<Task> tasks) {
+    }
+
+    @Override
+    public void remove(UUID userId, Long taskId) {
+    }
+
+    @Override
+    public void removeAll(UUID userId, List<Long> taskIds) {
+    }
+
+    @Override
+    public void invalidate(UUID userId) {
+    }
+}
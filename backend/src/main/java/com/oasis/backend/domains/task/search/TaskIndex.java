@@ -0,0 +1,293 @@
+package com.oasis.backend.domains.task.search;
+
+import com.oasis.backend.domains.task.responses.TaskResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The TaskIndex class is the in-memory inverted index over the tasks of one user.
+ * <p></p>
+ * Every indexed task gets a slot number. The term dictionary maps each term to an id, and each term id owns a
+ * posting list of slots (ascending) with the term frequency of each slot, stored in primitive {@code int} arrays.
+ * Matches are scored with BM25, the title counting {@link #TITLE_WEIGHT} times as much as the description.
+ * <p></p>
+ * Updating a task frees its slot and indexes it again in a new one. Freed slots stay in the posting lists until
+ * they outnumber the live ones, at which point the index is compacted. The document frequency of each term only
+ * counts live slots, so relevance is not skewed by freed ones meanwhile. Instances are not thread-safe; callers
+ * synchronize on them.
+ */
+class TaskIndex {
+    private static final int TITLE_WEIGHT = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "that", "the", "this", "to", "was", "with"
+    );
+
+    // Term dictionary and posting lists
+    private final Map<String, Integer> terms = new HashMap<>();
+    private int[][] postingSlots = new int[64][];
+    private int[][] postingFrequencies = new int[64][];
+    private int[] postingSizes = new int[64];
+    private int[] documentFrequencies = new int[64];
+
+    // Documents, by slot
+    private long[] taskIds = new long[64];
+    private long[] categoryIds = new long[64];
+    private int[] lengths = new int[64];
+    private int[][] slotTerms = new int[64][];
+    private TaskResponse[] responses = new TaskResponse[64];
+    private final BitSet freed = new BitSet();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private int slotCount;
+    private long totalLength;
+
+    private final Map<String, Long> categories = new HashMap<>();
+
+    /**
+     * Records the title of a category, so that searches can filter on it.
+     */
+    void putCategory(long categoryId, String title) {
+        categories.put(title.toLowerCase(Locale.ROOT), categoryId);
+    }
+
+    boolean hasCategory(long categoryId) {
+        return categories.containsValue(categoryId);
+    }
+
+    /**
+     * Indexes a task, replacing the previous version if it was already indexed.
+     */
+    void put(long categoryId, TaskResponse task) {
+        remove(task.getId());
+
+        int slot = slotCount++;
+        ensureSlotCapacity(slot);
+        taskIds[slot] = task.getId();
+        categoryIds[slot] = categoryId;
+        responses[slot] = task;
+        slots.put(task.getId(), slot);
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String term : tokenize(task.getTitle())) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+            length += TITLE_WEIGHT;
+        }
+        for (String term : tokenize(task.getDescription())) {
+            frequencies.merge(term, 1, Integer::sum);
+            length++;
+        }
+        lengths[slot] = length;
+        totalLength += length;
+
+        int[] termIds = new int[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            termIds[i] = termId(entry.getKey());
+            addPosting(termIds[i++], slot, entry.getValue());
+        }
+        slotTerms[slot] = termIds;
+    }
+
+    /**
+     * Removes a task from the index, if present.
+     */
+    void remove(long taskId) {
+        Integer slot = slots.remove(taskId);
+        if (slot == null) {
+            return;
+        }
+
+        freed.set(slot);
+        totalLength -= lengths[slot];
+        responses[slot] = null;
+        for (int termId : slotTerms[slot]) {
+            documentFrequencies[termId]--;
+        }
+        slotTerms[slot] = null;
+
+        if (freed.cardinality() > 64 && freed.cardinality() > slots.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Finds the tasks of a category containing every term of the query, ordered by priority and then by relevance.
+     *
+     * @param category The title of the category.
+     * @param query    The search text.
+     * @param offset   The number of matches to skip.
+     * @param limit    The maximum number of matches to return.
+     * @return The matching tasks.
+     */
+    List<TaskResponse> search(String category, String query, int offset, int limit) {
+        Long categoryId = categories.get(category.toLowerCase(Locale.ROOT));
+        List<String> queryTerms = tokenize(query);
+        if (categoryId == null || queryTerms.isEmpty() || slots.isEmpty()) {
+            return List.of();
+        }
+
+        int[] termIds = new int[queryTerms.size()];
+        for (int i = 0; i < termIds.length; i++) {
+            Integer termId = terms.get(queryTerms.get(i));
+            if (termId == null || documentFrequencies[termId] == 0) {
+                return List.of();
+            }
+            termIds[i] = termId;
+        }
+        // Drive the intersection from the rarest term
+        termIds = Arrays.stream(termIds).distinct().boxed()
+                .sorted(Comparator.comparingInt(id -> postingSizes[id]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        int documents = slots.size();
+        double averageLength = Math.max(1.0, (double) totalLength / documents);
+        List<Match> matches = new ArrayList<>();
+
+        int[] driver = postingSlots[termIds[0]];
+        for (int p = 0; p < postingSizes[termIds[0]]; p++) {
+            int slot = driver[p];
+            if (freed.get(slot) || categoryIds[slot] != categoryId) {
+                continue;
+            }
+
+            double score = 0;
+            boolean matchesAll = true;
+            for (int termId : termIds) {
+                int index = Arrays.binarySearch(postingSlots[termId], 0, postingSizes[termId], slot);
+                if (index < 0) {
+                    matchesAll = false;
+                    break;
+                }
+
+                int frequency = postingFrequencies[termId][index];
+                double idf = Math.log(1 + (documents - documentFrequencies[termId] + 0.5) / (documentFrequencies[termId] + 0.5));
+                score += idf * frequency * (K1 + 1)
+                        / (frequency + K1 * (1 - B + B * lengths[slot] / averageLength));
+            }
+
+            if (matchesAll) {
+                matches.add(new Match(responses[slot], score));
+            }
+        }
+
+        return matches.stream()
+                .sorted(Comparator.<Match>comparingInt(match -> match.task().getPriority().getRank())
+                        .thenComparing(Comparator.comparingDouble(Match::score).reversed()))
+                .skip(offset)
+                .limit(limit)
+                .map(Match::task)
+                .toList();
+    }
+
+    /**
+     * @return A rough estimate of the heap used by the index, in bytes.
+     */
+    int estimateSize() {
+        long size = 256L * slotCount + 64L * terms.size();
+        for (int i = 0; i < terms.size(); i++) {
+            // Slot and frequency in the posting list, term id in the terms of the slot
+            size += 12L * postingSlots[i].length;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private int termId(String term) {
+        Integer id = terms.get(term);
+        if (id != null) {
+            return id;
+        }
+
+        int termId = terms.size();
+        terms.put(term, termId);
+        if (termId == postingSlots.length) {
+            int capacity = termId * 2;
+            postingSlots = Arrays.copyOf(postingSlots, capacity);
+            postingFrequencies = Arrays.copyOf(postingFrequencies, capacity);
+            postingSizes = Arrays.copyOf(postingSizes, capacity);
+            documentFrequencies = Arrays.copyOf(documentFrequencies, capacity);
+        }
+        postingSlots[termId] = new int[2];
+        postingFrequencies[termId] = new int[2];
+        return termId;
+    }
+
+    private void addPosting(int termId, int slot, int frequency) {
+        int size = postingSizes[termId];
+        if (size == postingSlots[termId].length) {
+            postingSlots[termId] = Arrays.copyOf(postingSlots[termId], size * 2);
+            postingFrequencies[termId] = Arrays.copyOf(postingFrequencies[termId], size * 2);
+        }
+
+        // Slots only grow, so appending keeps the list sorted
+        postingSlots[termId][size] = slot;
+        postingFrequencies[termId][size] = frequency;
+        postingSizes[termId] = size + 1;
+        documentFrequencies[termId]++;
+    }
+
+    private void ensureSlotCapacity(int slot) {
+        if (slot < taskIds.length) {
+            return;
+        }
+
+        int capacity = taskIds.length * 2;
+        taskIds = Arrays.copyOf(taskIds, capacity);
+        categoryIds = Arrays.copyOf(categoryIds, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        responses = Arrays.copyOf(responses, capacity);
+        slotTerms = Arrays.copyOf(slotTerms, capacity);
+    }
+
+    /**
+     * Rebuilds the posting lists from the live tasks only.
+     */
+    private void compact() {
+        List<Long> liveCategories = new ArrayList<>(slots.size());
+        List<TaskResponse> live = new ArrayList<>(slots.size());
+        for (int slot : slots.values().stream().sorted().toList()) {
+            liveCategories.add(categoryIds[slot]);
+            live.add(responses[slot]);
+        }
+
+        terms.clear();
+        Arrays.fill(postingSizes, 0);
+        Arrays.fill(documentFrequencies, 0);
+        Arrays.fill(slotTerms, null);
+        slots.clear();
+        freed.clear();
+        slotCount = 0;
+        totalLength = 0;
+
+        for (int i = 0; i < live.size(); i++) {
+            put(liveCategories.get(i), live.get(i));
+        }
+    }
+
+    private record Match(TaskResponse task, double score) {}
+}
@@ -0,0 +1,71 @@
+package com.oasis.backend.domains.task.search;
+
+import com.oasis.backend.domains.task.responses.TaskResponse;
+import com.oasis.backend.models.Task;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Interface of the engines answering task searches.
+ * <p>
+ * The engine is selected with the {@code application.task.search.engine} property: {@code memory} keeps an
+ * inverted index of each active user's tasks in the heap, {@code postgres} runs the full text query on the
+ * database. The task service reports every change so that indexing engines stay up to date.
+ * </p>
+ *
+ * @see InMemoryTaskSearchEngine
+ * @see PostgresTaskSearchEngine
+ */
+public interface TaskSearchEngine {
+    /**
+     * Searches the tasks of a category of the user, highest priority and best matches first.
+     *
+     * @param userId   The id of the user.
+     * @param category The title of the category.
+     * @param query    The search query.
+     * @param page     The page number.
+     * @param size     The page size.
+     * @return The matching tasks.
+     */
+    List<TaskResponse> search(UUID userId, String category, String query, int page, int size);
+
+    /**
+     * Reports a task that was created or updated.
+     *
+     * @param userId The id of the user owning the task.
+     * @param task   The saved task.
+     */
+    void index(UUID userId, Task task);
+
+    /**
+     * Reports tasks that were created or updated together, such as by a batch, as a single change.
+     *
+     * @param userId The id of the user owning the tasks.
+     * @param tasks  The saved tasks.
+     */
+    void indexAll(UUID userId, List<Task> tasks);
+
+    /**
+     * Reports a task that was deleted.
+     *
+     * @param userId The id of the user owning the task.
+     * @param taskId The id of the deleted task.
+     */
+    void remove(UUID userId, Long taskId);
+
+    /**
+     * Reports tasks that were deleted together, such as by a batch, as a single change.
+     *
+     * @param userId  The id of the user owning the tasks.
+     * @param taskIds The ids of the deleted tasks.
+     */
+    void removeAll(UUID userId, List<Long> taskIds);
+
+    /**
+     * Reports a change that may affect many tasks of the user, too many to report one by one.
+     *
+     * @param userId The id of the user.
+     */
+    void invalidate(UUID userId);
+}
@@ -0,0 +1,73 @@
+package com.oasis.backend.domains.task.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The TaskSearchQuery class turns what a user types into a safe Postgres {@code tsquery}.
+ * <p></p>
+ * It follows the {@code websearch_to_tsquery} conventions: words are combined with AND, {@code or} between two
+ * words combines them with OR and a leading {@code -} excludes a word. On top of that, the last word is matched
+ * as a prefix while it is still being typed, that is unless the input ends with a space. Only letters and digits
+ * reach the query, so no input can make {@code to_tsquery} fail.
+ */
+public class TaskSearchQuery {
+    /**
+     * Builds the tsquery text for the given input.
+     *
+     * @param input The raw search input.
+     * @return The tsquery text, or {@code null} if the input holds no searchable word.
+     */
+    public static String toTsQuery(String input) {
+        if (input == null) {
+            return null;
+        }
+
+        List<String> parts = new ArrayList<>();
+        boolean or = false;
+        String[] words = input.trim().split("\\s+");
+
+        for (int i = 0; i < words.length; i++) {
+            String word = words[i];
+            boolean negated = word.startsWith("-");
+            String term = word.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]", "");
+
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (term.equals("or") && !negated && !parts.isEmpty() && i < words.length - 1) {
+                or = true;
+                continue;
+            }
+
+            boolean prefix = i == words.length - 1 && !negated && !Character.isWhitespace(input.charAt(input.length() - 1));
+            String operand = (negated ? "!" : "") + term + (prefix ? ":*" : "");
+
+            if (!parts.isEmpty()) {
+                parts.add(or ? "|" : "&");
+            }
+            parts.add(operand);
+            or = false;
+        }
+
+        if (parts.isEmpty() || parts.stream().allMatch(part -> part.startsWith("!") || part.equals("&") || part.equals("|"))) {
+            return null;
+        }
+        return String.join(" ", parts);
+    }
+
+    /**
+     * Escapes the LIKE wildcards of the input and turns it into a prefix pattern, with {@code \} as escape.
+     *
+     * @param input The raw input.
+     * @return The lowercased LIKE pattern.
+     */
+    public static String toPrefixPattern(String input) {
+        String escaped = input.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
+    }
+}
@@ -1,10 +1,16 @@
 package com.oasis.backend.domains.task.service;
 
+import com.oasis.backend.domains.task.dto.TaskBatchDto;
 import com.oasis.backend.domains.task.dto.TaskDto;
+import com.oasis.backend.domains.task.responses.TaskBatchResponse;
 import com.oasis.backend.domains.task.responses.TaskCategoryResponse;
+import com.oasis.backend.domains.task.responses.TaskChangesResponse;
+import com.oasis.backend.domains.task.responses.TaskPageResponse;
 import com.oasis.backend.domains.task.responses.TaskResponse;
 import com.oasis.backend.models.bases.ApiResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -28,6 +34,14 @@ public interface TaskService {
      */
     ApiResponse<TaskResponse> update(Long id, TaskDto taskDto);
 
+    /**
+     * Creates, updates and deletes many tasks in one transaction.
+     *
+     * @param batch The tasks to create, the tasks to update and the ids of the tasks to delete.
+     * @return An ApiResponse containing the result of every item, in the order of the request.
+     */
+    ApiResponse<TaskBatchResponse> batch(TaskBatchDto batch);
+
     /**
      * Deletes tasks based on the given ID and category.
      *
@@ -37,6 +51,14 @@ public interface TaskService {
      */
     ApiResponse<List<TaskResponse>> delete(Long id, String category);
 
+    /**
+     * Returns the current version of the user's tasks and categories, for use as an ETag.
+     * It changes on every mutation and is read without any query.
+     *
+     * @return The version.
+     */
+    String getVersion();
+
     /**
      * Retrieves a paginated list of categorized tasks.
      *
@@ -46,6 +68,23 @@ public interface TaskService {
      */
     ApiResponse<List<TaskCategoryResponse>> get(Integer page, Integer size);
 
+    /**
+     * Retrieves what changed in the user's tasks and categories since a watermark, including deletions.
+     * Changes close to the watermark may be returned again, so clients apply them idempotently.
+     *
+     * @param since The watermark returned by the previous call, or {@code null} for the full state.
+     * @return An ApiResponse containing the changes and the watermark of the next call.
+     */
+    ApiResponse<TaskChangesResponse> changes(Instant since);
+
+    /**
+     * Opens a stream of Server-Sent Events pushing the user's task changes as they happen.
+     *
+     * @param lastEventId The id of the last event received before reconnecting (optional).
+     * @return The emitter of the stream.
+     */
+    SseEmitter stream(String lastEventId);
+
     /**
      * Searches for tasks based on the given query and category.
      *
@@ -56,4 +95,34 @@ public interface TaskService {
      * @return An ApiResponse containing a list of task responses.
      */
     ApiResponse<List<TaskResponse>> search(String query, String category, Integer page, Integer size);
+
+    /**
+     * Retrieves the tasks of a category with keyset pagination.
+     *
+     * @param category The category to list (optional).
+     * @param after The cursor returned with the previous page, or {@code null} for the first page.
+     * @param limit The page size.
+     * @return An ApiResponse containing the page of task responses and the cursor of the next page.
+     */
+    ApiResponse<TaskPageResponse> list(String category, String after, Integer limit);
+
+    /**
+     * Searches for tasks with keyset pagination.
+     *
+     * @param query The search query.
+     * @param category The category to filter by (optional).
+     * @param after The cursor returned with the previous page, or {@code null} for the first page.
+     * @param limit The page size.
+     * @return An ApiResponse containing the page of task responses and the cursor of the next page.
+     */
+    ApiResponse<TaskPageResponse> search(String query, String category, String after, Integer limit);
+
+    /**
+     * Suggests task titles completing what the user is typing, tolerating small typos.
+     *
+     * @param query The text typed so far.
+     * @param limit The maximum number of suggestions.
+     * @return An ApiResponse containing the suggested titles, best first.
+     */
+    ApiResponse<List<String>> suggest(String query, Integer limit);
 }
\ No newline at end of file
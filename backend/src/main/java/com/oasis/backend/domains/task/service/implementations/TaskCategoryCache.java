@@ -0,0 +1,77 @@
+package com.oasis.backend.domains.task.service.implementations;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The TaskCategoryCache class keeps, for the most recently active users, the id of each of their categories
+ * by normalized title, so that creating a task does not look its category up.
+ * <p></p>
+ * Categories are never renamed, since a task changing category moves to the category with the new title, so the
+ * cached ids stay valid on every node. An id is only cached once the transaction that loaded it has committed.
+ */
+@Component
+@RequiredArgsConstructor
+class TaskCategoryCache {
+    @Value("${application.task.category-cache.maximum-users}")
+    protected Long MAXIMUM_USERS;
+
+    private Cache<UUID, Map<String, Long>> categories;
+
+    @PostConstruct
+    protected void init() {
+        categories = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_USERS)
+                .build();
+    }
+
+    /**
+     * Returns the id of the user's category with this title, loading it when it is not cached.
+     *
+     * @param userId The id of the user.
+     * @param title  The category title, in any case.
+     * @param loader The function returning the category id for the title, creating the category if needed.
+     * @return The category id.
+     */
+    Long get(UUID userId, String title, Function<String, Long> loader) {
+        Map<String, Long> titles = categories.get(userId, key -> new ConcurrentHashMap<>());
+        String normalized = title.toLowerCase(Locale.ROOT);
+
+        // Loading outside of the map lock; the loader is idempotent, so a concurrent load does no harm
+        Long id = titles.get(normalized);
+        if (id == null) {
+            id = loader.apply(title);
+            put(titles, normalized, id);
+        }
+        return id;
+    }
+
+    /**
+     * Caches the id once the current transaction commits, if there is one. A category created by a transaction
+     * that rolls back does not exist, and its id would fail the foreign key of every task created in it.
+     */
+    private void put(Map<String, Long> titles, String normalized, Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    titles.put(normalized, id);
+                }
+            });
+        } else {
+            titles.put(normalized, id);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.oasis.backend.domains.task.service.implementations;
+
+import com.oasis.backend.configurations.exceptions.OasisException;
+import com.oasis.backend.domains.task.responses.TaskResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * The position of a task in a keyset paginated list, sorted by priority rank, due date, creation time and id.
+ * <p></p>
+ * Clients only see it as an opaque, url-safe string. The creation time is kept to the microsecond so that it
+ * compares exactly with the {@code timestamptz} column.
+ *
+ * @param rank      The priority rank of the task.
+ * @param dueDate   The due date of the task.
+ * @param createdAt The creation time of the task.
+ * @param id        The id of the task.
+ */
+record TaskCursor(int rank, Date dueDate, Instant createdAt, long id) {
+    /**
+     * The position before every task, as every priority rank is positive.
+     */
+    static final TaskCursor START = new TaskCursor(-1, new Date(0), Instant.EPOCH, 0);
+
+    static TaskCursor of(TaskResponse task) {
+        return new TaskCursor(
+                task.getPriority().getRank(),
+                task.getDueDate(),
+                task.getCreatedAt().toInstant().truncatedTo(ChronoUnit.MICROS),
+                task.getId()
+        );
+    }
+
+    static TaskCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            long micros = Long.parseLong(parts[2]);
+
+            return new TaskCursor(
+                    Integer.parseInt(parts[0]),
+                    new Date(Long.parseLong(parts[1])),
+                    Instant.EPOCH.plus(micros, ChronoUnit.MICROS),
+                    Long.parseLong(parts[3])
+            );
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new OasisException("Invalid cursor");
+        }
+    }
+
+    String encode() {
+        String value = "%d:%d:%d:%d".formatted(
+                rank,
+                dueDate.getTime(),
+                ChronoUnit.MICROS.between(Instant.EPOCH, createdAt),
+                id
+        );
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
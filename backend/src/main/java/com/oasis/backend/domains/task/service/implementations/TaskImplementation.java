@@ -1,110 +1,321 @@
 package com.oasis.backend.domains.task.service.implementations;
 
 import com.oasis.backend.configurations.exceptions.OasisException;
+import com.oasis.backend.core.cache.EntityCacheService;
 import com.oasis.backend.core.mappers.TaskMapper;
+import com.oasis.backend.domains.task.dto.TaskBatchDto;
 import com.oasis.backend.domains.task.dto.TaskDto;
+import com.oasis.backend.domains.task.dto.TaskUpdateDto;
+import com.oasis.backend.domains.task.responses.TaskBatchResponse;
+import com.oasis.backend.domains.task.responses.TaskBatchResult;
 import com.oasis.backend.domains.task.responses.TaskCategoryResponse;
+import com.oasis.backend.domains.task.responses.TaskChangesResponse;
+import com.oasis.backend.domains.task.responses.TaskPageResponse;
 import com.oasis.backend.domains.task.responses.TaskResponse;
+import com.oasis.backend.domains.task.search.TaskSearchEngine;
+import com.oasis.backend.domains.task.search.TaskSearchQuery;
+import com.oasis.backend.domains.task.stream.TaskStreamEvent;
+import com.oasis.backend.domains.task.stream.TaskStreamService;
 import com.oasis.backend.domains.task.service.TaskService;
+import com.oasis.backend.enums.TaskStreamEventType;
+import com.oasis.backend.enums.TaskTombstoneType;
 import com.oasis.backend.models.Task;
 import com.oasis.backend.models.TaskCategory;
+import com.oasis.backend.models.TaskTombstone;
 import com.oasis.backend.models.bases.ApiResponse;
 import com.oasis.backend.repositories.TaskCategoryRepository;
 import com.oasis.backend.repositories.TaskRepository;
+import com.oasis.backend.repositories.TaskTombstoneRepository;
 import com.oasis.backend.utils.TimeUtil;
 import com.oasis.backend.utils.UserUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 public class TaskImplementation implements TaskService {
     private final String DEFAULT_CATEGORY = "All";
+    private final int MAX_PAGE_SIZE = 100;
+    private final int MAX_SUGGESTIONS = 20;
+    private final int MAX_BATCH_SIZE = 10000;
+    private final Duration CHANGES_OVERLAP = Duration.ofSeconds(30);
+
+    @Value("${application.task.changes.retention}")
+    protected Duration CHANGES_RETENTION;
 
     private final TaskMapper taskMapper;
     private final UserUtil userUtil;
     private final TaskCategoryRepository taskCategoryRepository;
     private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskSearchEngine taskSearchEngine;
+    private final TaskCategoryCache taskCategoryCache;
+    private final TaskVersionTracker taskVersionTracker;
+    private final TaskStreamService taskStreamService;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final EntityCacheService entityCacheService;
 
     @Override
     public ApiResponse<TaskResponse> create(TaskDto taskDto) {
-        TaskResponse response ;
+        Task task;
 
         if(taskDto.getCategory() == null || taskDto.getCategory().isEmpty()) {
-            response = taskMapper.toResponse(createTaskWithDefaultCategory(taskDto));
+            task = createTaskWithDefaultCategory(taskDto);
         } else {
-            response = taskMapper.toResponse(createTask(taskDto));
+            task = createTask(taskDto);
         }
+        taskSearchEngine.index(UserUtil.currentUserId(), task);
+        TaskResponse response = taskMapper.toResponse(task);
+        taskStreamService.publish(UserUtil.currentUserId(), TaskStreamEvent.of(TaskStreamEventType.CREATED, response));
+        taskVersionTracker.changed(UserUtil.currentUserId());
 
         return new ApiResponse<>("Task successfully created", response, HttpStatus.CREATED);
     }
 
     private Task createTaskWithDefaultCategory(TaskDto taskDto) {
         Task task = taskMapper.toEntity(taskDto);
-        task.setCategory(getOrCreateDefaultCategory(DEFAULT_CATEGORY));
-        task.setUser(userUtil.getUser());
+        task.setCategory(getOrCreateCategory(DEFAULT_CATEGORY));
+        task.setUser(userUtil.getUserReference());
 
         return taskRepository.save(task);
     }
 
-    private TaskCategory getOrCreateDefaultCategory(String title) {
-        return taskCategoryRepository.findByTitleIgnoreCaseAndUserId(title, userUtil.getUser().getId())
-                .orElseGet(() -> {
-                    TaskCategory newCategory = new TaskCategory();
-                    newCategory.setTitle(title);
-                    newCategory.setUser(userUtil.getUser());
-                    return taskCategoryRepository.save(newCategory);
-                });
+    /**
+     * Returns a reference to the user's category with this title, creating it if needed.
+     * The id comes from the category cache, or else from a single upsert statement.
+     */
+    private TaskCategory getOrCreateCategory(String title) {
+        UUID userId = UserUtil.currentUserId();
+        Long id = taskCategoryCache.get(userId, title, key -> {
+            TaskCategoryRepository.Upserted upserted = taskCategoryRepository.upsert(key, userId);
+            if(upserted.getInserted()) {
+                // The upsert is a native statement: cached lookups may still miss a category it created
+                entityCacheService.categoryChanged(userId, null);
+            }
+            return upserted.getId();
+        });
+
+        return taskCategoryRepository.getReferenceById(id);
     }
 
     private Task createTask(TaskDto taskDto) {
         Task task = taskMapper.toEntity(taskDto);
-        task.setCategory(getOrCreateDefaultCategory(taskDto.getCategory()));
-        task.setUser(userUtil.getUser());
+        task.setCategory(getOrCreateCategory(taskDto.getCategory()));
+        task.setUser(userUtil.getUserReference());
 
         return taskRepository.save(task);
     }
 
     @Override
+    @Transactional
     public ApiResponse<TaskResponse> update(Long id, TaskDto taskDto) {
-        Task task = taskRepository.findById(id).orElseThrow(() -> new OasisException("Task not found"));
+        Task task = taskRepository.findWithCategoryById(id).orElseThrow(() -> new OasisException("Task not found"));
 
-        if(task.getUser().getId().equals(userUtil.getUser().getId())) {
+        if(task.getUser().getId().equals(UserUtil.currentUserId())) {
             taskMapper.update(taskDto, task);
+            if(taskDto.getCategory() != null && !taskDto.getCategory().isEmpty()) {
+                // Move the task rather than rename its category, which other tasks may share
+                task.setCategory(getOrCreateCategory(taskDto.getCategory()));
+            }
             task.setUpdatedAt(TimeUtil.now());
             task = taskRepository.save(task);
 
-            if(taskDto.getCategory() != null && !taskDto.getCategory().isEmpty()) {
-                task.getCategory().setTitle(taskDto.getCategory());
-                task.getCategory().setUpdatedAt(TimeUtil.now());
-                taskCategoryRepository.save(task.getCategory());
-            }
+            taskSearchEngine.index(UserUtil.currentUserId(), task);
+            TaskResponse response = taskMapper.toResponse(task);
+            taskStreamService.publish(UserUtil.currentUserId(), TaskStreamEvent.of(TaskStreamEventType.UPDATED, response));
+            taskVersionTracker.changed(UserUtil.currentUserId());
 
-            return new ApiResponse<>(taskMapper.toResponse(task));
+            return new ApiResponse<>(response);
         } else {
             throw new OasisException("User not authorized to update this task");
         }
     }
 
+    @Override
+    @Transactional
+    public ApiResponse<TaskBatchResponse> batch(TaskBatchDto batch) {
+        List<TaskDto> creates = batch.getCreate() != null ? batch.getCreate() : List.of();
+        List<TaskUpdateDto> updates = batch.getUpdate() != null ? batch.getUpdate() : List.of();
+        List<Long> deletes = batch.getDelete() != null ? batch.getDelete() : List.of();
+
+        if(creates.size() + updates.size() + deletes.size() > MAX_BATCH_SIZE) {
+            throw new OasisException("A batch cannot hold more than %s tasks".formatted(MAX_BATCH_SIZE));
+        }
+
+        UUID userId = UserUtil.currentUserId();
+        Map<String, TaskCategory> categories = new HashMap<>();
+
+        // Load every task to update or delete at once
+        List<Long> ids = new ArrayList<>(deletes);
+        updates.stream().map(TaskUpdateDto::getId).filter(Objects::nonNull).forEach(ids::add);
+        Map<Long, Task> existing = new HashMap<>();
+        for(Task task : taskRepository.findAllById(ids)) {
+            existing.put(task.getId(), task);
+        }
+
+        TaskBatchResult[] created = new TaskBatchResult[creates.size()];
+        List<Task> createdTasks = new ArrayList<>();
+        List<Integer> createdIndexes = new ArrayList<>();
+        for(int i = 0; i < creates.size(); i++) {
+            TaskDto dto = creates.get(i);
+            Task task = taskMapper.toEntity(dto);
+
+            // Validate first, so that an invalid item does not create its category
+            String violation = validate(task);
+            if(violation != null) {
+                created[i] = TaskBatchResult.failure(null, violation);
+            } else {
+                task.setCategory(getCategory(categories, dto.getCategory()));
+                task.setUser(userUtil.getUserReference());
+                createdTasks.add(task);
+                createdIndexes.add(i);
+            }
+        }
+
+        TaskBatchResult[] updated = new TaskBatchResult[updates.size()];
+        List<Task> updatedTasks = new ArrayList<>();
+        List<Integer> updatedIndexes = new ArrayList<>();
+        for(int i = 0; i < updates.size(); i++) {
+            TaskUpdateDto dto = updates.get(i);
+            Task task = existing.get(dto.getId());
+
+            if(task == null || !task.getUser().getId().equals(userId)) {
+                updated[i] = TaskBatchResult.failure(dto.getId(), "Task not found");
+                continue;
+            }
+
+            taskMapper.update(dto, task);
+            task.setUpdatedAt(TimeUtil.now());
+
+            String violation = validate(task);
+            if(violation != null) {
+                // Keep the invalid changes out of the flush
+                entityManager.detach(task);
+                updated[i] = TaskBatchResult.failure(dto.getId(), violation);
+            } else {
+                if(dto.getCategory() != null && !dto.getCategory().isEmpty()) {
+                    task.setCategory(getCategory(categories, dto.getCategory()));
+                }
+                updatedTasks.add(task);
+                updatedIndexes.add(i);
+            }
+        }
+
+        TaskBatchResult[] deleted = new TaskBatchResult[deletes.size()];
+        List<Long> deletedIds = new ArrayList<>();
+        for(int i = 0; i < deletes.size(); i++) {
+            Long id = deletes.get(i);
+            Task task = existing.get(id);
+
+            if(task == null || !task.getUser().getId().equals(userId)) {
+                deleted[i] = TaskBatchResult.failure(id, "Task not found");
+            } else {
+                deleted[i] = new TaskBatchResult(id, true, "Successful", null);
+                deletedIds.add(id);
+            }
+        }
+
+        // Inserts and updates are sent in JDBC batches when the session flushes, deletes in one statement
+        taskRepository.saveAll(createdTasks);
+        taskRepository.flush();
+        if(!deletedIds.isEmpty()) {
+            taskRepository.deleteAllByIdInBatch(deletedIds);
+            taskTombstoneRepository.saveAll(deletedIds.stream().map(this::tombstone).toList());
+        }
+
+        for(int i = 0; i < createdTasks.size(); i++) {
+            created[createdIndexes.get(i)] = TaskBatchResult.success(taskMapper.toResponse(createdTasks.get(i)));
+        }
+        for(int i = 0; i < updatedTasks.size(); i++) {
+            updated[updatedIndexes.get(i)] = TaskBatchResult.success(taskMapper.toResponse(updatedTasks.get(i)));
+        }
+
+        // One change for the whole batch, rather than one per task
+        List<Task> indexed = new ArrayList<>(createdTasks);
+        indexed.addAll(updatedTasks);
+        taskSearchEngine.indexAll(userId, indexed);
+        taskSearchEngine.removeAll(userId, deletedIds);
+
+        List<TaskStreamEvent> events = new ArrayList<>();
+        for(int index : createdIndexes) {
+            events.add(TaskStreamEvent.of(TaskStreamEventType.CREATED, created[index].getTask()));
+        }
+        for(int index : updatedIndexes) {
+            events.add(TaskStreamEvent.of(TaskStreamEventType.UPDATED, updated[index].getTask()));
+        }
+        deletedIds.forEach(id -> events.add(TaskStreamEvent.deleted(id)));
+        taskStreamService.publish(userId, events);
+
+        if(!createdTasks.isEmpty() || !updatedTasks.isEmpty() || !deletedIds.isEmpty()) {
+            taskVersionTracker.changed(userId);
+        }
+
+        TaskBatchResponse response = new TaskBatchResponse();
+        response.setCreate(List.of(created));
+        response.setUpdate(List.of(updated));
+        response.setDelete(List.of(deleted));
+
+        return new ApiResponse<>(response);
+    }
+
+    /**
+     * Resolves a category once per batch.
+     */
+    private TaskCategory getCategory(Map<String, TaskCategory> categories, String title) {
+        String name = title == null || title.isEmpty() ? DEFAULT_CATEGORY : title;
+
+        return categories.computeIfAbsent(name.toLowerCase(Locale.ROOT), key -> getOrCreateCategory(name));
+    }
+
+    private String validate(Task task) {
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
     @Override
     @Transactional
     public ApiResponse<List<TaskResponse>> delete(Long id, String category) {
-        Task task = taskRepository.findById(id).orElseThrow(() -> new OasisException("Task not found"));
+        Task task = taskRepository.findWithCategoryById(id).orElseThrow(() -> new OasisException("Task not found"));
 
-        if(task.getUser().getId().equals(userUtil.getUser().getId())) {
+        if(task.getUser().getId().equals(UserUtil.currentUserId())) {
             if(category == null || category.isEmpty()) {
                 category = task.getCategory().getTitle();
             }
             taskRepository.delete(task);
+            taskTombstoneRepository.save(tombstone(id));
+            taskSearchEngine.remove(UserUtil.currentUserId(), id);
+            taskStreamService.publish(UserUtil.currentUserId(), TaskStreamEvent.deleted(id));
+            taskVersionTracker.changed(UserUtil.currentUserId());
 
             return new ApiResponse<>(
                     String.format("Successfully deleted task from %s", category),
@@ -116,6 +327,23 @@ public class TaskImplementation implements TaskService {
         }
     }
 
+    private TaskTombstone tombstone(Long taskId) {
+        TaskTombstone tombstone = new TaskTombstone();
+        tombstone.setEntityType(TaskTombstoneType.TASK);
+        tombstone.setEntityId(taskId);
+        tombstone.setUser(userUtil.getUserReference());
+
+        return tombstone;
+    }
+
+    /**
+     * Drops the tombstones older than the change log retention. Clients syncing from further back get the full state.
+     */
+    @Scheduled(fixedDelay = 1, initialDelay = 1, timeUnit = TimeUnit.HOURS)
+    public void purgeTombstones() {
+        taskTombstoneRepository.deleteByCreatedAtBefore(Instant.now().minus(CHANGES_RETENTION).atZone(ZoneOffset.UTC));
+    }
+
     private List<TaskResponse> getTasks(String category, Integer page, Integer size) {
         Pageable pageable = PageRequest.of(
                 page != null ? page : 0,
@@ -123,29 +351,37 @@ public class TaskImplementation implements TaskService {
                 Sort.Direction.ASC,
                 "dueDate", "priority", "createdAt"
         );
-        Page<Task> tasks = taskRepository.findByCategoryTitleIgnoreCase(category, userUtil.getUser().getId(), pageable);
-
-        if(tasks.hasContent()) {
-            return tasks.map(taskMapper::toResponse).stream().toList();
-        }
+        return taskRepository.findByCategoryTitleIgnoreCase(category, UserUtil.currentUserId(), pageable).getContent();
+    }
 
-        return List.of();
+    @Override
+    public String getVersion() {
+        return taskVersionTracker.get(UserUtil.currentUserId());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ApiResponse<List<TaskCategoryResponse>> get(Integer page, Integer size) {
-        List<TaskCategory> categories = taskCategoryRepository.findByUser_Id(userUtil.getUser().getId());
+        UUID userId = UserUtil.currentUserId();
+        List<TaskCategoryResponse> categories = taskCategoryRepository.findResponsesByUserId(userId);
 
         if(categories.isEmpty()) {
             return new ApiResponse<>(List.of());
         }
 
+        // Fetch the page of every category at once, then group the tasks by category in one pass
+        int limit = size != null ? size : 20;
+        int offset = (page != null ? page : 0) * limit;
+        Map<Long, List<TaskResponse>> tasks = new HashMap<>();
+        for(TaskResponse task : taskRepository.findTopByCategoryForUser(userId, offset, limit)) {
+            tasks.computeIfAbsent(task.getCategoryId(), id -> new ArrayList<>()).add(task);
+        }
+
         List<TaskCategoryResponse> list = categories.stream()
-                .map(taskCategory -> {
-                    TaskCategoryResponse response = taskMapper.toCategoryResponse(taskCategory);
-                    response.setTasks(getTasks(taskCategory.getTitle(), page, size));
+                .map(category -> {
+                    category.setTasks(tasks.getOrDefault(category.getId(), List.of()));
 
-                    return response;
+                    return category;
                 })
                 .sorted(Comparator.comparing(category -> category.getTitle().equalsIgnoreCase(DEFAULT_CATEGORY) ? 0 : 1))
                 .toList();
@@ -154,18 +390,130 @@ public class TaskImplementation implements TaskService {
     }
 
     @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ApiResponse<TaskChangesResponse> changes(Instant since) {
+        UUID userId = UserUtil.currentUserId();
+        Instant now = Instant.now();
+
+        TaskChangesResponse response = new TaskChangesResponse();
+        response.setNextSince(now);
+
+        if(since == null || since.isBefore(now.minus(CHANGES_RETENTION))) {
+            response.setReset(true);
+            response.setTasks(taskRepository.findResponsesByUserId(userId));
+            response.setCategories(taskCategoryRepository.findResponsesByUserId(userId));
+            response.setDeleted(List.of());
+
+            return new ApiResponse<>(response);
+        }
+
+        // Rows are stamped by the clock of the node writing them, before their transaction commits,
+        // so a change committed after the previous call may carry a time just before its watermark
+        ZonedDateTime from = since.minus(CHANGES_OVERLAP).atZone(ZoneOffset.UTC);
+
+        response.setReset(false);
+        response.setTasks(taskRepository.findResponsesChangedSince(userId, from));
+        response.setCategories(taskCategoryRepository.findResponsesChangedSince(userId, from));
+        response.setDeleted(taskTombstoneRepository.findByUser_IdAndCreatedAtAfter(userId, from).stream().map(taskMapper::toTombstoneResponse).toList());
+
+        return new ApiResponse<>(response);
+    }
+
+    @Override
+    public SseEmitter stream(String lastEventId) {
+        return taskStreamService.subscribe(UserUtil.currentUserId(), lastEventId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public ApiResponse<List<TaskResponse>> search(String query, String category, Integer page, Integer size) {
         if(category == null || category.isEmpty()) {
             category = DEFAULT_CATEGORY;
         }
 
-        Pageable pageable = PageRequest.of(page != null ? page : 0, size != null ? size : 20);
-        Page<Task> tasks = taskRepository.fullTextSearch(query, userUtil.getUser().getId(), category, pageable);
+        return new ApiResponse<>(taskSearchEngine.search(
+                UserUtil.currentUserId(),
+                category,
+                query,
+                page != null ? page : 0,
+                size != null ? size : 20
+        ));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<TaskPageResponse> list(String category, String after, Integer limit) {
+        TaskCursor cursor = TaskCursor.decode(after);
+        int size = getLimit(limit);
+        UUID userId = UserUtil.currentUserId();
+
+        List<TaskResponse> tasks = findCategoryId(category, userId)
+                .map(categoryId -> taskRepository.findPageAfter(
+                        userId, categoryId, cursor.rank(), cursor.dueDate(), cursor.createdAt(), cursor.id(), size + 1
+                ))
+                .orElse(List.of());
 
-        if(tasks.hasContent()) {
-            return new ApiResponse<>(tasks.map(taskMapper::toResponse).stream().toList());
+        return new ApiResponse<>(toPage(tasks, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<TaskPageResponse> search(String query, String category, String after, Integer limit) {
+        TaskCursor cursor = TaskCursor.decode(after);
+        int size = getLimit(limit);
+        UUID userId = UserUtil.currentUserId();
+        String tsQuery = TaskSearchQuery.toTsQuery(query);
+
+        List<TaskResponse> tasks = findCategoryId(category, userId)
+                .filter(categoryId -> tsQuery != null)
+                .map(categoryId -> taskRepository.searchPageAfter(
+                        tsQuery, userId, categoryId, cursor.rank(), cursor.dueDate(), cursor.createdAt(), cursor.id(), size + 1
+                ))
+                .orElse(List.of());
+
+        return new ApiResponse<>(toPage(tasks, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<String>> suggest(String query, Integer limit) {
+        if(query == null || query.isBlank()) {
+            return new ApiResponse<>(List.of());
         }
 
-        return new ApiResponse<>(List.of());
+        return new ApiResponse<>(taskRepository.suggestTitles(
+                UserUtil.currentUserId(),
+                query.trim().toLowerCase(Locale.ROOT),
+                TaskSearchQuery.toPrefixPattern(query),
+                limit != null && limit > 0 ? Math.min(limit, MAX_SUGGESTIONS) : 10
+        ));
+    }
+
+    private Optional<Long> findCategoryId(String category, UUID userId) {
+        if(category == null || category.isEmpty()) {
+            category = DEFAULT_CATEGORY;
+        }
+
+        return taskCategoryRepository.findByTitleIgnoreCaseAndUserId(category, userId).map(TaskCategory::getId);
+    }
+
+    private int getLimit(Integer limit) {
+        return limit != null && limit > 0 ? Math.min(limit, MAX_PAGE_SIZE) : 20;
+    }
+
+    /**
+     * Builds a page from a query that asked for one row more than the page size,
+     * so that the extra row tells whether there is a next page without counting.
+     */
+    private TaskPageResponse toPage(List<TaskResponse> tasks, int size) {
+        boolean hasMore = tasks.size() > size;
+        List<TaskResponse> page = hasMore ? tasks.subList(0, size) : tasks;
+
+        TaskPageResponse response = new TaskPageResponse();
+        response.setTasks(page);
+        response.setHasMore(hasMore);
+        response.setNextCursor(hasMore ? TaskCursor.of(page.getLast()).encode() : null);
+
+        return response;
     }
 }
\ No newline at end of file
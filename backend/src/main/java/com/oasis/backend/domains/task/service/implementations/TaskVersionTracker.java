@@ -0,0 +1,89 @@
+package com.oasis.backend.domains.task.service.implementations;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oasis.backend.core.notification.NotificationService;
+import com.oasis.backend.core.replica.ReplicaService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The TaskVersionTracker class keeps, for the most recently active users, an opaque version of their tasks and
+ * categories, used as the ETag of the task listings. Reading it costs no query.
+ * <p></p>
+ * A version is a random value drawn when the user has none, and dropped on every change, so the next read draws
+ * a new one. Changes are dropped locally once their transaction commits and, through the
+ * {@link NotificationService}, on the other nodes. Because a listing reads the version before its data, a
+ * concurrent change can only make a version describe newer data than it was drawn for, never older.
+ * Nodes draw their versions independently, so a client moving between nodes may download unchanged data again.
+ * A change announced by another node first sends the user's reads to the primary, see {@link ReplicaService}, so
+ * that the new version is never paired with data read from a replica that has not caught up.
+ */
+@Component
+@RequiredArgsConstructor
+class TaskVersionTracker {
+    static final String CHANGES_CHANNEL = "oasis_task_version_changes";
+
+    private final NotificationService notificationService;
+    private final ReplicaService replicaService;
+
+    @Value("${application.task.version-cache.maximum-users}")
+    protected Long MAXIMUM_USERS;
+
+    private final String node = UUID.randomUUID().toString();
+    private Cache<UUID, String> versions;
+
+    @PostConstruct
+    protected void init() {
+        versions = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_USERS)
+                .build();
+
+        notificationService.subscribe(CHANGES_CHANNEL, payload -> {
+            String[] parts = payload.split(":");
+            if (!parts[0].equals(node)) {
+                UUID userId = UUID.fromString(parts[1]);
+                replicaService.recordWrite(userId);
+                versions.invalidate(userId);
+            }
+        });
+    }
+
+    /**
+     * Returns the current version of the user's tasks.
+     *
+     * @param userId The id of the user.
+     * @return The version.
+     */
+    String get(UUID userId) {
+        return versions.get(userId, key -> Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36));
+    }
+
+    /**
+     * Records that the user's tasks or categories changed. It must be called after every other change
+     * announcement of the operation, so that the new version is only seen once the change is visible everywhere.
+     *
+     * @param userId The id of the user.
+     */
+    void changed(UUID userId) {
+        notificationService.publish(CHANGES_CHANNEL, node + ":" + userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.invalidate(userId);
+                }
+            });
+        } else {
+            versions.invalidate(userId);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.oasis.backend.domains.task.stream;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.oasis.backend.domains.task.responses.TaskResponse;
+import com.oasis.backend.enums.TaskStreamEventType;
+import lombok.Data;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskStreamEvent {
+    private TaskStreamEventType type;
+
+    /**
+     * The id of the task.
+     */
+    private Long id;
+
+    /**
+     * The task as saved. Left out of deletions, and of tasks too large to be broadcast, which the client fetches.
+     */
+    private TaskResponse task;
+
+    public static TaskStreamEvent of(TaskStreamEventType type, TaskResponse task) {
+        TaskStreamEvent event = new TaskStreamEvent();
+        event.setType(type);
+        event.setId(task.getId());
+        event.setTask(task);
+        return event;
+    }
+
+    public static TaskStreamEvent deleted(Long id) {
+        TaskStreamEvent event = new TaskStreamEvent();
+        event.setType(TaskStreamEventType.DELETED);
+        event.setId(id);
+        return event;
+    }
+
+    public static TaskStreamEvent resync() {
+        TaskStreamEvent event = new TaskStreamEvent();
+        event.setType(TaskStreamEventType.RESYNC);
+        return event;
+    }
+}
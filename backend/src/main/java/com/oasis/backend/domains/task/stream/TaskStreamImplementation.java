@@ -0,0 +1,298 @@
+package com.oasis.backend.domains.task.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.oasis.backend.configurations.exceptions.ExceptionCodes;
+import com.oasis.backend.configurations.exceptions.OasisException;
+import com.oasis.backend.core.notification.NotificationService;
+import com.oasis.backend.models.bases.UuidV7Generator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of the TaskStreamService interface on top of asynchronous servlet requests.
+ * It implements its wrapper class {@link TaskStreamService}
+ * <p></p>
+ * An open stream holds no thread: events are written by short tasks on virtual threads. Every event goes through
+ * the {@link NotificationService}, this node included, so all nodes see the events in the same order and under
+ * the same id. A node keeps the last events of the users connected to it, for a while after they disconnect, to
+ * replay them to a client reconnecting with {@code Last-Event-ID}. A client reconnecting to another node, or after
+ * more events than the replay buffer holds, gets a {@code RESYNC} event instead.
+ */
+@Service
+@RequiredArgsConstructor
+class TaskStreamImplementation implements TaskStreamService {
+    static final String EVENTS_CHANNEL = "oasis_task_events";
+    static final String DISCONNECTS_CHANNEL = "oasis_task_stream_disconnects";
+
+    /** NOTIFY payloads are limited to 8000 bytes; the user id and event id take the rest */
+    private static final int MAX_EVENT_BYTES = 7900;
+    private static final int MAX_EVENTS_PER_OPERATION = 100;
+    private static final Duration RETAIN_AFTER_DISCONNECT = Duration.ofMinutes(2);
+
+    private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${application.task.stream.max-connections}")
+    protected Integer MAX_CONNECTIONS;
+
+    @Value("${application.task.stream.queue-capacity}")
+    protected Integer QUEUE_CAPACITY;
+
+    @Value("${application.task.stream.replay-size}")
+    protected Integer REPLAY_SIZE;
+
+    @Value("${application.task.stream.timeout}")
+    protected Duration TIMEOUT;
+
+    private final Map<UUID, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("").build();
+    private ObjectWriter writer;
+    private Set<ResponseBodyEmitter.DataWithMediaType> resync;
+
+    @PostConstruct
+    @SneakyThrows
+    protected void init() {
+        writer = objectMapper.writerFor(TaskStreamEvent.class);
+        resync = event(null, writer.writeValueAsString(TaskStreamEvent.resync()));
+
+        notificationService.subscribe(EVENTS_CHANNEL, this::receive);
+        notificationService.subscribe(DISCONNECTS_CHANNEL, payload -> close(UUID.fromString(payload)));
+    }
+
+    @PreDestroy
+    protected void stop() {
+        channels.values().forEach(channel -> {
+            synchronized (channel) {
+                new ArrayList<>(channel.subscribers).forEach(TaskStreamSubscriber::close);
+            }
+        });
+        sender.shutdown();
+    }
+
+    @Override
+    public SseEmitter subscribe(UUID userId, String lastEventId) {
+        if (connections.incrementAndGet() > MAX_CONNECTIONS) {
+            connections.decrementAndGet();
+            throw new OasisException(ExceptionCodes.SERVICE_UNAVAILABLE, "Too many open streams. Please try again shortly");
+        }
+
+        SseEmitter emitter = new SseEmitter(TIMEOUT.toMillis());
+        TaskStreamSubscriber subscriber = new TaskStreamSubscriber(emitter, QUEUE_CAPACITY, sender);
+        Channel channel;
+
+        while (true) {
+            channel = channels.computeIfAbsent(userId, key -> new Channel());
+
+            // Replaying and joining under the channel lock, so that no event is missed or sent twice
+            synchronized (channel) {
+                if (channel.removed) {
+                    continue;
+                }
+
+                subscriber.offer(SseEmitter.event().comment("connected").build());
+                if (lastEventId != null && !lastEventId.isBlank()) {
+                    List<Set<ResponseBodyEmitter.DataWithMediaType>> missed = channel.after(lastEventId);
+                    // Replaying more than half the queue would leave no room for new events
+                    if (missed == null || missed.size() > QUEUE_CAPACITY / 2) {
+                        subscriber.offer(resync);
+                    } else {
+                        missed.forEach(subscriber::offer);
+                    }
+                }
+                channel.subscribers.add(subscriber);
+                break;
+            }
+        }
+
+        Channel joined = channel;
+        emitter.onCompletion(() -> unsubscribe(joined, subscriber));
+        emitter.onError(error -> unsubscribe(joined, subscriber));
+        emitter.onTimeout(subscriber::close);
+
+        subscriber.flush();
+        return emitter;
+    }
+
+    @Override
+    @SneakyThrows
+    public void publish(UUID userId, TaskStreamEvent event) {
+        String json = writer.writeValueAsString(event);
+
+        if (json.getBytes(StandardCharsets.UTF_8).length > MAX_EVENT_BYTES) {
+            event.setTask(null);
+            json = writer.writeValueAsString(event);
+        }
+        notificationService.publish(EVENTS_CHANNEL, userId + ":" + UuidV7Generator.generate() + ":" + json);
+    }
+
+    @Override
+    public void publish(UUID userId, List<TaskStreamEvent> events) {
+        if (events.size() > MAX_EVENTS_PER_OPERATION) {
+            publish(userId, TaskStreamEvent.resync());
+        } else {
+            events.forEach(event -> publish(userId, event));
+        }
+    }
+
+    @Override
+    public void disconnect(UUID userId) {
+        notificationService.publish(DISCONNECTS_CHANNEL, userId.toString());
+    }
+
+    /**
+     * Keeps idle connections alive through proxies, notices the clients that went away and forgets the users
+     * that disconnected long enough ago.
+     */
+    @Scheduled(fixedDelay = 20, initialDelay = 20, timeUnit = TimeUnit.SECONDS)
+    public void heartbeat() {
+        long now = System.nanoTime();
+
+        channels.forEach((userId, channel) -> {
+            synchronized (channel) {
+                if (channel.subscribers.isEmpty()) {
+                    if (now - channel.idleSince > RETAIN_AFTER_DISCONNECT.toNanos()) {
+                        channel.removed = true;
+                        channels.remove(userId, channel);
+                    }
+                    return;
+                }
+                deliver(channel, heartbeat);
+            }
+        });
+    }
+
+    private void receive(String payload) {
+        int userEnd = payload.indexOf(':');
+        int idEnd = payload.indexOf(':', userEnd + 1);
+        Channel channel = channels.get(UUID.fromString(payload.substring(0, userEnd)));
+
+        if (channel == null) {
+            return;
+        }
+
+        String id = payload.substring(userEnd + 1, idEnd);
+        Set<ResponseBodyEmitter.DataWithMediaType> event = event(id, payload.substring(idEnd + 1));
+
+        synchronized (channel) {
+            channel.recent.addLast(new Recent(id, event));
+            if (channel.recent.size() > REPLAY_SIZE) {
+                channel.recent.removeFirst();
+            }
+            deliver(channel, event);
+        }
+    }
+
+    private void close(UUID userId) {
+        Channel channel = channels.get(userId);
+
+        if (channel == null) {
+            return;
+        }
+        synchronized (channel) {
+            new ArrayList<>(channel.subscribers).forEach(TaskStreamSubscriber::close);
+        }
+    }
+
+    /**
+     * Queues the event for every subscriber of the channel and disconnects the ones whose queue is full.
+     * Must be called holding the channel lock.
+     */
+    private void deliver(Channel channel, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        List<TaskStreamSubscriber> slow = null;
+
+        for (TaskStreamSubscriber subscriber : channel.subscribers) {
+            if (subscriber.offer(event)) {
+                subscriber.flush();
+            } else {
+                if (slow == null) {
+                    slow = new ArrayList<>();
+                }
+                slow.add(subscriber);
+            }
+        }
+
+        if (slow != null) {
+            slow.forEach(TaskStreamSubscriber::close);
+        }
+    }
+
+    private void unsubscribe(Channel channel, TaskStreamSubscriber subscriber) {
+        if (!subscriber.release()) {
+            return;
+        }
+
+        connections.decrementAndGet();
+        synchronized (channel) {
+            channel.subscribers.remove(subscriber);
+            if (channel.subscribers.isEmpty()) {
+                channel.idleSince = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Builds an event once, to be written as is to every subscriber.
+     */
+    private static Set<ResponseBodyEmitter.DataWithMediaType> event(String id, String json) {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event();
+        if (id != null) {
+            builder.id(id);
+        }
+        return builder.data(json, MediaType.APPLICATION_JSON).build();
+    }
+
+    private record Recent(String id, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+    }
+
+    /**
+     * The subscribers of a user on this node and the last events sent to them. Guarded by its own lock.
+     */
+    private static class Channel {
+        private final List<TaskStreamSubscriber> subscribers = new ArrayList<>();
+        private final ArrayDeque<Recent> recent = new ArrayDeque<>();
+        private long idleSince = System.nanoTime();
+        private boolean removed;
+
+        /**
+         * Returns the events after the given one, or {@code null} if it is no longer known.
+         */
+        private List<Set<ResponseBodyEmitter.DataWithMediaType>> after(String id) {
+            List<Set<ResponseBodyEmitter.DataWithMediaType>> events = new ArrayList<>();
+            boolean found = false;
+
+            for (Recent event : recent) {
+                if (found) {
+                    events.add(event.event());
+                } else if (event.id().equals(id)) {
+                    found = true;
+                }
+            }
+            return found ? events : null;
+        }
+    }
+}
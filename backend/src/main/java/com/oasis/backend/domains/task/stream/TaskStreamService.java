@@ -0,0 +1,53 @@
+package com.oasis.backend.domains.task.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service interface for pushing task changes to connected clients as Server-Sent Events.
+ * <p>
+ * Events are broadcast to every node through the
+ * {@link com.oasis.backend.core.notification.NotificationService}, so a client receives the changes made on any
+ * node. When published inside a transaction, events are only delivered once it commits.
+ * </p>
+ *
+ * @see TaskStreamImplementation
+ */
+public interface TaskStreamService {
+    /**
+     * Opens a stream of the user's task events.
+     *
+     * @param userId      The id of the user.
+     * @param lastEventId The id of the last event the client received before reconnecting, or {@code null}.
+     *                    The events after it are replayed when this node still has them, otherwise the stream
+     *                    starts with a {@code RESYNC} event.
+     * @return The emitter of the stream.
+     */
+    SseEmitter subscribe(UUID userId, String lastEventId);
+
+    /**
+     * Publishes an event to the streams of the user.
+     *
+     * @param userId The id of the user.
+     * @param event  The event.
+     */
+    void publish(UUID userId, TaskStreamEvent event);
+
+    /**
+     * Publishes the events of one operation to the streams of the user. Large operations are announced with a
+     * single {@code RESYNC} event instead.
+     *
+     * @param userId The id of the user.
+     * @param events The events, in order.
+     */
+    void publish(UUID userId, List<TaskStreamEvent> events);
+
+    /**
+     * Closes every stream of the user, on every node, such as when the user's sessions are revoked.
+     *
+     * @param userId The id of the user.
+     */
+    void disconnect(UUID userId);
+}
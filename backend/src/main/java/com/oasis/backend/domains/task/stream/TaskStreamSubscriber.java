@@ -0,0 +1,92 @@
+package com.oasis.backend.domains.task.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The TaskStreamSubscriber class is one open stream. Events are queued by the notification listener, which never
+ * blocks, and written by a sender task on a virtual thread, one at a time. A client that does not keep up fills
+ * its bounded queue and is disconnected; it reconnects with its last event id.
+ */
+class TaskStreamSubscriber {
+    private final SseEmitter emitter;
+    private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+    private final Executor sender;
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    TaskStreamSubscriber(SseEmitter emitter, int capacity, Executor sender) {
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sender = sender;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    /**
+     * Queues an event without blocking.
+     *
+     * @return {@code false} if the queue is full or the stream closed.
+     */
+    boolean offer(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        return !closed.get() && queue.offer(event);
+    }
+
+    /**
+     * Starts a sender task unless one is already running.
+     */
+    void flush() {
+        if (!closed.get() && sending.compareAndSet(false, true)) {
+            sender.execute(this::send);
+        }
+    }
+
+    private void send() {
+        try {
+            Set<ResponseBodyEmitter.DataWithMediaType> event;
+            while (!closed.get() && (event = queue.poll()) != null) {
+                emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away, the container reports it through the emitter callbacks
+            closed.set(true);
+            queue.clear();
+        } finally {
+            sending.set(false);
+        }
+
+        // An event queued after the last poll but before the flag was reset
+        if (!queue.isEmpty()) {
+            flush();
+        }
+    }
+
+    /**
+     * Ends the stream, dropping the events still queued.
+     */
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            queue.clear();
+            emitter.complete();
+        }
+    }
+
+    /**
+     * Marks the subscriber as removed from its channel.
+     *
+     * @return {@code true} the first time only.
+     */
+    boolean release() {
+        return released.compareAndSet(false, true);
+    }
+}
@@ -0,0 +1,14 @@
+package com.oasis.backend.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum LazyLoadGuardMode {
+    OFF("Off"),
+    LOG("Log"),
+    FAIL("Fail");
+
+    private final String value;
+}
@@ -6,9 +6,15 @@ import lombok.RequiredArgsConstructor;
 @Getter
 @RequiredArgsConstructor
 public enum TaskPriority {
-    LOW("Low"),
-    MEDIUM("Medium"),
-    HIGH("High");
+    LOW("Low", 2),
+    MEDIUM("Medium", 1),
+    HIGH("High", 0);
 
     private final String value;
-}
\ No newline at end of file
+
+    /**
+     * The position of the priority in task lists, highest priority first.
+     * Mirrors the generated {@code priority_rank} column of the tasks table.
+     */
+    private final int rank;
+}
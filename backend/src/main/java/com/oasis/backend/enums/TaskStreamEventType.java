@@ -0,0 +1,12 @@
+package com.oasis.backend.enums;
+
+/**
+ * The kinds of events pushed on the task stream. {@link #RESYNC} tells the client that events were missed
+ * and that it must catch up through the changes endpoint.
+ */
+public enum TaskStreamEventType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    RESYNC
+}
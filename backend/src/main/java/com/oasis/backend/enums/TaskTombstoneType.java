@@ -0,0 +1,13 @@
+package com.oasis.backend.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum TaskTombstoneType {
+    TASK("Task"),
+    CATEGORY("Category");
+
+    private final String value;
+}
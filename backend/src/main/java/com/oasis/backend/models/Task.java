@@ -1,23 +1,60 @@
 package com.oasis.backend.models;
 
+import com.oasis.backend.domains.task.responses.TaskResponse;
 import com.oasis.backend.enums.TaskPriority;
 import com.oasis.backend.enums.TaskStatus;
 import com.oasis.backend.models.bases.BaseModel;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
+import java.time.ZonedDateTime;
 import java.util.Date;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "tasks")
+@NamedEntityGraph(
+        // Loads the category with the task, for the paths that read or change it
+        name = Task.WITH_CATEGORY,
+        attributeNodes = @NamedAttributeNode("category")
+)
+@SqlResultSetMapping(
+        // Reads the rows of native queries straight into responses, without managed entities
+        name = Task.RESPONSE_MAPPING,
+        classes = @ConstructorResult(
+                targetClass = TaskResponse.class,
+                columns = {
+                        @ColumnResult(name = "id", type = Long.class),
+                        @ColumnResult(name = "title", type = String.class),
+                        @ColumnResult(name = "description", type = String.class),
+                        @ColumnResult(name = "priority", type = String.class),
+                        @ColumnResult(name = "status", type = String.class),
+                        @ColumnResult(name = "category_id", type = Long.class),
+                        @ColumnResult(name = "due_date", type = Date.class),
+                        @ColumnResult(name = "created_at", type = ZonedDateTime.class),
+                        @ColumnResult(name = "updated_at", type = ZonedDateTime.class)
+                }
+        )
+)
+@Table(
+        name = "tasks",
+        indexes = {
+                // Keyset pagination seeks on the list order within a user's category
+                @Index(name = "tasks_keyset_idx", columnList = "user_id, category_id, priority_rank, due_date, created_at, id"),
+                // Delta sync reads the tasks of a user changed since a point in time
+                @Index(name = "tasks_user_updated_idx", columnList = "user_id, updated_at")
+        }
+)
 public class Task extends BaseModel {
+    public static final String RESPONSE_MAPPING = "TaskResponse";
+    public static final String WITH_CATEGORY = "Task.withCategory";
+
     @Column(columnDefinition = "TEXT", nullable = false)
     @NotEmpty(message = "Task title cannot be empty")
     private String title;
@@ -28,13 +65,27 @@ public class Task extends BaseModel {
 
     @Enumerated(value = EnumType.STRING)
     @Column(nullable = false)
+    @NotNull(message = "Task priority cannot be empty")
     private TaskPriority priority = TaskPriority.HIGH;
 
+    /**
+     * Sort position of the priority, computed by the database. See {@link TaskPriority#getRank()}.
+     */
+    @Column(
+            name = "priority_rank",
+            insertable = false,
+            updatable = false,
+            columnDefinition = "smallint GENERATED ALWAYS AS (CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 ELSE 2 END) STORED"
+    )
+    private Integer priorityRank;
+
     @Enumerated(value = EnumType.STRING)
     @Column(nullable = false)
+    @NotNull(message = "Task status cannot be empty")
     private TaskStatus status = TaskStatus.PENDING;
 
     @Column(name = "due_date", nullable = false)
+    @NotNull(message = "Task due date cannot be empty")
     @FutureOrPresent(message = "Task due date must be in the future or present")
     private Date dueDate;
 
@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -13,8 +15,13 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TaskCategory.CACHE_REGION)
 @Table(name = "task_categories")
 public class TaskCategory extends BaseModel {
+    public static final String CACHE_REGION = "task_categories";
+    public static final String QUERY_CACHE_REGION = "task_categories_queries";
+
     @Column(columnDefinition = "TEXT", nullable = false)
     @NotEmpty(message = "Task category title cannot be empty")
     private String title;
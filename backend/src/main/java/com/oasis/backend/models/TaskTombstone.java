@@ -0,0 +1,42 @@
+package com.oasis.backend.models;
+
+import com.oasis.backend.enums.TaskTombstoneType;
+import com.oasis.backend.models.bases.BaseModel;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * The TaskTombstone class records that a task or a task category was deleted, so that clients syncing
+ * their changes since a point in time learn about rows that no longer exist. The creation time is the
+ * deletion time. Tombstones are purged after the retention of the change log.
+ */
+@Getter
+@Setter
+@Entity
+@Table(
+        name = "task_tombstones",
+        indexes = {
+                @Index(name = "task_tombstones_user_created_idx", columnList = "user_id, created_at")
+        }
+)
+public class TaskTombstone extends BaseModel {
+    @Enumerated(value = EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private TaskTombstoneType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(
+            name = "user_id",
+            referencedColumnName = "id",
+            nullable = false,
+            foreignKey = @ForeignKey(name = "task_tombstone_user_fkey")
+    )
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+}
@@ -6,17 +6,25 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.List;
 
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
 @Table(name = "users")
 public class User extends BaseEntity implements UserDetails {
+    public static final String CACHE_REGION = "users";
+    public static final String QUERY_CACHE_REGION = "users_queries";
+
     @Column(name = "email_address", unique = true, nullable = false, columnDefinition = "TEXT")
     @Email(
             message = "Email address must be properly formatted",
@@ -36,6 +44,15 @@ public class User extends BaseEntity implements UserDetails {
     @NotEmpty(message = "Last name cannot be empty")
     private String lastName;
 
+    /**
+     * Access tokens issued before this instant are rejected.
+     * Moving it forward revokes every session of the user in a single write.
+     * Only {@link com.oasis.backend.repositories.UserRepository#updateTokensValidAfter} writes it, so saving a cached
+     * copy of the user never moves it back.
+     */
+    @Column(name = "tokens_valid_after", columnDefinition = "timestamptz", updatable = false)
+    private ZonedDateTime tokensValidAfter;
+
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "user")
     private List<Session> sessions;
 
@@ -30,11 +30,11 @@ import java.util.UUID;
 public class BaseEntity extends BaseDateTime {
     /**
      * The unique identifier for the entity.
-     * Generated automatically using UUID strategy.
+     * Generated automatically as a time-ordered UUID (see {@link UuidV7Generator}).
      */
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
-    @UuidGenerator(style = UuidGenerator.Style.RANDOM)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(columnDefinition = "uuid", updatable = false, nullable = false)
     private UUID id;
 }
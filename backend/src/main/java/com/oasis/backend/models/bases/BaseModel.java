@@ -27,10 +27,11 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 public class BaseModel extends BaseDateTime {
     /**
      * The unique identifier for the entity.
-     * Generated automatically using an identity strategy.
+     * Generated from the table's {@code <table>_id_seq} sequence (see {@link TableSequenceNamingStrategy}),
+     * which hands out blocks of 50 ids with the pooled-lo optimizer so inserts can be batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     @Column(nullable = false)
     private Long id;
 }
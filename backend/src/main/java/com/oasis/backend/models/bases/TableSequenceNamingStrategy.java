@@ -0,0 +1,56 @@
+package com.oasis.backend.models.bases;
+
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.model.relational.QualifiedName;
+import org.hibernate.boot.model.relational.QualifiedSequenceName;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.ImplicitDatabaseObjectNamingStrategy;
+import org.hibernate.id.enhanced.StandardNamingStrategy;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+
+import java.util.Map;
+
+/**
+ * The TableSequenceNamingStrategy class names the sequence of each {@link BaseModel} table the way PostgreSQL
+ * names the sequence behind a {@code serial} or identity column: {@code <table>_id_seq}.
+ * <p></p>
+ * Tables created when ids were identity columns therefore keep drawing from the same sequence, so existing rows
+ * and rows inserted by nodes still running the identity mapping never collide with the new pooled ids.
+ * It is registered through {@code hibernate.id.db_structure_naming_strategy}.
+ *
+ * @see BaseModel
+ */
+public class TableSequenceNamingStrategy implements ImplicitDatabaseObjectNamingStrategy {
+    private final StandardNamingStrategy standard = new StandardNamingStrategy();
+
+    @Override
+    public QualifiedName determineSequenceName(
+            Identifier catalogName,
+            Identifier schemaName,
+            Map<?, ?> configValues,
+            ServiceRegistry serviceRegistry
+    ) {
+        String table = ConfigurationHelper.getString(PersistentIdentifierGenerator.TABLE, configValues);
+
+        if (table == null || table.isBlank()) {
+            return standard.determineSequenceName(catalogName, schemaName, configValues, serviceRegistry);
+        }
+
+        Identifier name = serviceRegistry.requireService(JdbcEnvironment.class)
+                .getIdentifierHelper()
+                .toIdentifier(table + "_id_seq");
+        return new QualifiedSequenceName(catalogName, schemaName, name);
+    }
+
+    @Override
+    public QualifiedName determineTableName(
+            Identifier catalogName,
+            Identifier schemaName,
+            Map<?, ?> configValues,
+            ServiceRegistry serviceRegistry
+    ) {
+        return standard.determineTableName(catalogName, schemaName, configValues, serviceRegistry);
+    }
+}
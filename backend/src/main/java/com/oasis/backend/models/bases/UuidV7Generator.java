@@ -0,0 +1,44 @@
+package com.oasis.backend.models.bases;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The UuidV7Generator class generates time-ordered UUIDs (version 7, RFC 9562) for {@link BaseEntity}.
+ * <p></p>
+ * The first 48 bits hold the Unix time in milliseconds, so new ids land at the right edge of the primary key
+ * B-tree instead of on a random page, which keeps inserts cheap and index pages full. The 12 bits after the
+ * version are a counter that keeps ids from the same node increasing within a millisecond (and across a clock
+ * that steps back), and the last 62 bits are random, so ids stay unguessable.
+ *
+ * @see BaseEntity
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /** Last timestamp (milliseconds shifted left by 12) plus counter handed out by this node. */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return generate();
+    }
+
+    /**
+     * Generates a new time-ordered UUID.
+     *
+     * @return The UUID.
+     */
+    public static UUID generate() {
+        long stamp = LAST.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis() << 12));
+
+        long mostSignificant = (stamp >>> 12) << 16 | 0x7000L | (stamp & 0xFFFL);
+        long leastSignificant = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+
+        return new UUID(mostSignificant, leastSignificant);
+    }
+}
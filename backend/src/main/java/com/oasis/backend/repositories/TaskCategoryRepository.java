@@ -1,15 +1,78 @@
 package com.oasis.backend.repositories;
 
+import com.oasis.backend.domains.task.responses.TaskCategoryResponse;
 import com.oasis.backend.models.TaskCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface TaskCategoryRepository extends JpaRepository<TaskCategory, Long> {
+  /**
+   * Returns the user's category with this title, ignoring case. The result is kept in the query cache until the
+   * categories change, on this node or, through the {@link com.oasis.backend.core.cache.EntityCacheService}, on
+   * any other.
+   */
+  @QueryHints({
+          @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+          @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = TaskCategory.QUERY_CACHE_REGION)
+  })
   Optional<TaskCategory> findByTitleIgnoreCaseAndUserId(@NonNull String title, @NonNull UUID id);
 
-  List<TaskCategory> findByUser_Id(@NonNull UUID id);
-}
\ No newline at end of file
+  @Query("""
+      select new com.oasis.backend.domains.task.responses.TaskCategoryResponse(c.id, c.title)
+      from TaskCategory c where c.user.id = :userId
+  """)
+  List<TaskCategoryResponse> findResponsesByUserId(@Param("userId") @NonNull UUID userId);
+
+  @Query("""
+      select new com.oasis.backend.domains.task.responses.TaskCategoryResponse(c.id, c.title)
+      from TaskCategory c where c.user.id = :userId and c.updatedAt > :since
+  """)
+  List<TaskCategoryResponse> findResponsesChangedSince(
+          @Param("userId") @NonNull UUID userId,
+          @Param("since") @NonNull ZonedDateTime since
+  );
+
+  /**
+   * Returns the id of the user's category with this title, ignoring case, creating the category if needed.
+   * It is a single atomic statement relying on the unique (user_id, normalized_title) index of schema.sql,
+   * so concurrent calls never create duplicates. The no-op update makes RETURNING yield the existing id.
+   * A new row takes its id straight from the sequence: every value handed out is the start of a pooled-lo block
+   * nobody else uses, so it cannot collide with ids allocated by Hibernate. A row version created by the
+   * statement itself has no deleting transaction yet ({@code xmax = 0}), which tells an insert from an update.
+   *
+   * @param title  The category title.
+   * @param userId The id of the user.
+   * @return The id of the category, and whether it was created.
+   */
+  @Transactional
+  @Query(
+          value = """
+              INSERT INTO public.task_categories (id, title, user_id, created_at, updated_at)
+              VALUES (nextval('public.task_categories_id_seq'), :title, :userId, now(), now())
+              ON CONFLICT (user_id, normalized_title) DO UPDATE SET title = task_categories.title
+              RETURNING id, (xmax = 0) AS inserted
+          """,
+          nativeQuery = true
+  )
+  Upserted upsert(@Param("title") @NonNull String title, @Param("userId") @NonNull UUID userId);
+
+  /**
+   * The result of {@link #upsert(String, UUID)}.
+   */
+  interface Upserted {
+    Long getId();
+
+    Boolean getInserted();
+  }
+}
@@ -1,47 +1,221 @@
 package com.oasis.backend.repositories;
 
+import com.oasis.backend.domains.task.responses.TaskResponse;
 import com.oasis.backend.models.Task;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.NativeQuery;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Read paths select straight into {@link TaskResponse}: JPQL queries with a constructor expression, native queries
+ * with the {@link Task#RESPONSE_MAPPING} result set mapping. No entity is loaded into the persistence context, so
+ * there is no snapshot to keep for dirty checking and no proxy to create for the category and the user.
+ * Write paths load entities with the associations they use in the same statement, through an entity graph.
+ */
 public interface TaskRepository extends JpaRepository<Task, Long> {
-    @Query("""
-        select t from Task t where upper(t.category.title) = upper(?1) and t.user.id = ?2
-        group by t.id, t.priority
+    /**
+     * The columns read by the {@link Task#RESPONSE_MAPPING} result set mapping, for a {@code tks} alias.
+     */
+    String RESPONSE_COLUMNS = """
+        tks.id, tks.title, tks.description, tks.priority, tks.status, tks.category_id,
+        tks.due_date, tks.created_at, tks.updated_at
+    """;
+
+    /**
+     * The constructor expression building a {@link TaskResponse}, for a {@code t} alias.
+     */
+    String RESPONSE_CONSTRUCTOR = """
+        new com.oasis.backend.domains.task.responses.TaskResponse(
+            t.id, t.title, t.description, t.priority, t.status, t.category.id, t.dueDate, t.createdAt, t.updatedAt
+        )
+    """;
+
+    /**
+     * Returns the task with its category, for the write paths that read or rename the category.
+     *
+     * @param id The id of the task.
+     * @return The task, if any.
+     */
+    @EntityGraph(Task.WITH_CATEGORY)
+    Optional<Task> findWithCategoryById(@NonNull Long id);
+
+    @Query("select " + RESPONSE_CONSTRUCTOR + """
+        from Task t where upper(t.category.title) = upper(?1) and t.user.id = ?2
         order by case t.priority
         when com.oasis.backend.enums.TaskPriority.HIGH then 0
         WHEN com.oasis.backend.enums.TaskPriority.MEDIUM THEN 1
         ELSE 2 END
     """)
-    Page<Task> findByCategoryTitleIgnoreCase(@NonNull String title, @NonNull UUID id, Pageable pageable);
+    Page<TaskResponse> findByCategoryTitleIgnoreCase(@NonNull String title, @NonNull UUID id, Pageable pageable);
+
+    @Query("select " + RESPONSE_CONSTRUCTOR + " from Task t where t.user.id = :userId")
+    List<TaskResponse> findResponsesByUserId(@Param("userId") @NonNull UUID userId);
+
+    @Query("select " + RESPONSE_CONSTRUCTOR + " from Task t where t.user.id = :userId and t.updatedAt > :since")
+    List<TaskResponse> findResponsesChangedSince(@Param("userId") @NonNull UUID userId, @Param("since") @NonNull ZonedDateTime since);
+
+    /**
+     * Returns one page of tasks for every category of a user in a single statement.
+     * Tasks are ranked within their category by priority, due date and creation time,
+     * and the result is ordered by category and then by that rank.
+     *
+     * @param userId The id of the user.
+     * @param offset The number of tasks to skip in every category.
+     * @param size   The maximum number of tasks to return for every category.
+     * @return The tasks of all the categories of the user.
+     */
+    @NativeQuery(
+            sqlResultSetMapping = Task.RESPONSE_MAPPING,
+            value = "SELECT " + RESPONSE_COLUMNS + """
+                FROM public.tasks tks
+                JOIN (
+                    SELECT id, row_number() OVER (
+                        PARTITION BY category_id
+                        ORDER BY priority_rank, due_date, created_at, id
+                    ) AS category_rank
+                    FROM public.tasks
+                    WHERE user_id = :userId
+                ) ranked ON ranked.id = tks.id
+                WHERE ranked.category_rank > :offset AND ranked.category_rank <= :offset + :size
+                ORDER BY tks.category_id, ranked.category_rank
+            """
+    )
+    List<TaskResponse> findTopByCategoryForUser(
+            @Param("userId") UUID userId,
+            @Param("offset") int offset,
+            @Param("size") int size
+    );
 
+    /**
+     * Returns the tasks of a category that come after the given position, in list order.
+     * The row comparison lets the database seek on the keyset index instead of skipping rows.
+     *
+     * @param userId     The id of the user.
+     * @param categoryId The id of the category.
+     * @param rank       The priority rank of the last task seen.
+     * @param dueDate    The due date of the last task seen.
+     * @param createdAt  The creation time of the last task seen.
+     * @param id         The id of the last task seen.
+     * @param limit      The maximum number of tasks to return.
+     * @return The next tasks of the category.
+     */
+    @NativeQuery(
+            sqlResultSetMapping = Task.RESPONSE_MAPPING,
+            value = "SELECT " + RESPONSE_COLUMNS + """
+                FROM public.tasks tks
+                WHERE tks.user_id = :userId AND tks.category_id = :categoryId
+                AND (tks.priority_rank, tks.due_date, tks.created_at, tks.id) > (:rank, :dueDate, :createdAt, :id)
+                ORDER BY tks.priority_rank, tks.due_date, tks.created_at, tks.id
+                LIMIT :limit
+            """
+    )
+    List<TaskResponse> findPageAfter(
+            @Param("userId") UUID userId,
+            @Param("categoryId") Long categoryId,
+            @Param("rank") int rank,
+            @Param("dueDate") Date dueDate,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") long id,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Returns the tasks of a category matching the search query that come after the given position, in list order.
+     * The query must be built with {@link com.oasis.backend.domains.task.search.TaskSearchQuery#toTsQuery(String)}.
+     *
+     * @see #findPageAfter(UUID, Long, int, Date, Instant, long, int)
+     */
+    @NativeQuery(
+            sqlResultSetMapping = Task.RESPONSE_MAPPING,
+            value = "SELECT " + RESPONSE_COLUMNS + """
+                FROM public.tasks tks
+                WHERE tks.user_id = :userId AND tks.category_id = :categoryId
+                AND tks.search_vector @@ to_tsquery('english', :query)
+                AND (tks.priority_rank, tks.due_date, tks.created_at, tks.id) > (:rank, :dueDate, :createdAt, :id)
+                ORDER BY tks.priority_rank, tks.due_date, tks.created_at, tks.id
+                LIMIT :limit
+            """
+    )
+    List<TaskResponse> searchPageAfter(
+            @Param("query") String query,
+            @Param("userId") UUID userId,
+            @Param("categoryId") Long categoryId,
+            @Param("rank") int rank,
+            @Param("dueDate") Date dueDate,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") long id,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Returns distinct task titles of the user that start with, or look like, the typed text.
+     * Prefix matches come first, then the closest trigram matches. Both are served by the title indexes
+     * of schema.sql.
+     *
+     * @param userId  The id of the user.
+     * @param text    The lowercased typed text.
+     * @param pattern The escaped LIKE prefix pattern of the text.
+     * @param limit   The maximum number of titles to return.
+     * @return The suggested titles.
+     */
     @Query(
             value = """
-                SELECT tks.* FROM public.tasks tks
-                LEFT JOIN public.task_categories tksC ON tks.category_id = tksC.id
-                LEFT JOIN public.users u ON tks.user_id = u.id
-                WHERE
-                (to_tsvector('english', tks.title) @@ to_tsquery(:query)
-                OR to_tsvector('english', tks.description) @@ to_tsquery(:query))
-                and u.id = :userId and upper(tksC.title) = upper(:category)
-                GROUP BY tks.id, tks.title, tks.description, tks.priority
-                ORDER BY
-                CASE tks.priority
-                WHEN 'HIGH' THEN 0
-                WHEN 'MEDIUM' THEN 1
-                ELSE 2 END,
-                GREATEST(ts_rank_cd(to_tsvector('english', tks.title), to_tsquery(:query)),
-                ts_rank_cd(to_tsvector('english', tks.description), to_tsquery(:query))) DESC
+                SELECT suggestion.title FROM (
+                    SELECT DISTINCT ON (lower(tks.title)) tks.title,
+                    lower(tks.title) LIKE :pattern ESCAPE '\\' AS prefix,
+                    word_similarity(:text, lower(tks.title)) AS score
+                    FROM public.tasks tks
+                    WHERE tks.user_id = :userId
+                    AND (lower(tks.title) LIKE :pattern ESCAPE '\\' OR :text <% lower(tks.title))
+                    ORDER BY lower(tks.title)
+                ) suggestion
+                ORDER BY suggestion.prefix DESC, suggestion.score DESC, suggestion.title
+                LIMIT :limit
             """,
             nativeQuery = true
     )
-    Page<Task> fullTextSearch(
+    List<String> suggestTitles(
+            @Param("userId") UUID userId,
+            @Param("text") String text,
+            @Param("pattern") String pattern,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Searches the tasks of a category on the stored, weighted {@code search_vector} column (see schema.sql),
+     * which is served by a GIN index. The query is parsed once and every match is ranked once.
+     * The query must be built with {@link com.oasis.backend.domains.task.search.TaskSearchQuery#toTsQuery(String)}.
+     */
+    @NativeQuery(
+            sqlResultSetMapping = Task.RESPONSE_MAPPING,
+            value = "SELECT " + RESPONSE_COLUMNS + """
+                FROM public.tasks tks
+                JOIN public.task_categories tksC ON tks.category_id = tksC.id
+                CROSS JOIN to_tsquery('english', :query) AS search
+                WHERE tks.user_id = :userId AND upper(tksC.title) = upper(:category)
+                AND tks.search_vector @@ search
+                ORDER BY tks.priority_rank, ts_rank_cd(tks.search_vector, search) DESC
+            """,
+            countQuery = """
+                SELECT count(*) FROM public.tasks tks
+                JOIN public.task_categories tksC ON tks.category_id = tksC.id
+                WHERE tks.user_id = :userId AND upper(tksC.title) = upper(:category)
+                AND tks.search_vector @@ to_tsquery('english', :query)
+            """
+    )
+    Page<TaskResponse> fullTextSearch(
             @Param("query") String query,
             @Param("userId") UUID userId,
             @Param("category") String category,
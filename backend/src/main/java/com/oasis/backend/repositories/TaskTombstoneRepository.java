@@ -0,0 +1,28 @@
+package com.oasis.backend.repositories;
+
+import com.oasis.backend.models.TaskTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+  List<TaskTombstone> findByUser_IdAndCreatedAtAfter(@NonNull UUID id, @NonNull ZonedDateTime since);
+
+  /**
+   * Deletes the tombstones older than the given time, in one statement.
+   *
+   * @param before The oldest deletion time to keep.
+   * @return The number of tombstones deleted.
+   */
+  @Transactional
+  @Modifying
+  @Query("delete from TaskTombstone t where t.createdAt < :before")
+  int deleteByCreatedAtBefore(@Param("before") @NonNull ZonedDateTime before);
+}
@@ -1,14 +1,54 @@
 package com.oasis.backend.repositories;
 
 import com.oasis.backend.models.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.lang.NonNull;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZonedDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * The lookups of a user by email address and by session are answered from the query cache, and the users they
+ * return from the second-level cache. Cached results are dropped whenever the users or sessions table changes
+ * on this node, and on every node by the {@link com.oasis.backend.core.cache.EntityCacheService}.
+ */
 public interface UserRepository extends JpaRepository<User, UUID> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = User.QUERY_CACHE_REGION)
+    })
     Optional<User> findByEmailAddressIgnoreCase(String username);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = User.QUERY_CACHE_REGION)
+    })
     Optional<User> findBySessions_Id(@NonNull UUID id);
+
+    @Query("select u.tokensValidAfter from User u where u.id = ?1")
+    Optional<ZonedDateTime> findTokensValidAfterById(@NonNull UUID id);
+
+    /**
+     * Moves the epoch of the user forward. It is a native statement declaring its own query space, so it does not
+     * evict every cached user and every cached user lookup, as an update of the users table would. Cached users
+     * may keep an older epoch: it is only ever read with {@link #findTokensValidAfterById(UUID)}.
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users_tokens_valid_after"))
+    @Query(
+            value = """
+                UPDATE public.users SET tokens_valid_after = ?2
+                WHERE id = ?1 AND (tokens_valid_after IS NULL OR tokens_valid_after < ?2)
+            """,
+            nativeQuery = true
+    )
+    void updateTokensValidAfter(@NonNull UUID id, @NonNull ZonedDateTime time);
 }
\ No newline at end of file
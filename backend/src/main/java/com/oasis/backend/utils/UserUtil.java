@@ -1,12 +1,19 @@
 package com.oasis.backend.utils;
 
 import com.oasis.backend.configurations.exceptions.OasisException;
+import com.oasis.backend.core.session.AuthenticatedUser;
 import com.oasis.backend.models.User;
 import com.oasis.backend.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * The UserUtil class provides utility methods related to user authentication and retrieval.
@@ -14,6 +21,8 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class UserUtil {
+    private static final String USER_ATTRIBUTE = UserUtil.class.getName() + ".USER";
+
     private final UserRepository userRepository;
 
     /**
@@ -30,12 +39,70 @@ public class UserUtil {
         }
     }
 
+    /**
+     * Retrieves the id of the currently logged-in user from the security context, without any query.
+     * @return The id of the logged-in user.
+     */
+    public static UUID currentUserId() {
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        if (principal instanceof AuthenticatedUser user) {
+            return user.getId();
+        } else if (principal instanceof User user) {
+            return user.getId();
+        } else {
+            throw new OasisException("User not found");
+        }
+    }
+
+    /**
+     * Retrieves the id of the currently logged-in user, if any, from the security context, without any query.
+     * @return The id of the logged-in user, or empty outside an authenticated request.
+     */
+    public static Optional<UUID> findCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Object principal = authentication == null ? null : authentication.getPrincipal();
+
+        if (principal instanceof AuthenticatedUser user) {
+            return Optional.of(user.getId());
+        } else if (principal instanceof User user) {
+            return Optional.ofNullable(user.getId());
+        } else {
+            return Optional.empty();
+        }
+    }
+
     /**
      * Retrieves the user entity corresponding to the currently logged-in user.
+     * The entity is loaded once per request and reused by later calls within the same request.
      * @return The user entity.
      */
     public User getUser() {
-        return userRepository.findByEmailAddressIgnoreCase(getLoggedInUser())
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return loadUser();
+        }
+
+        User user = (User) attributes.getAttribute(USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (user == null) {
+            user = loadUser();
+            attributes.setAttribute(USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return user;
+    }
+
+    /**
+     * Retrieves a reference to the currently logged-in user, for use in associations.
+     * No query is issued unless the reference is later initialized.
+     * @return The user reference.
+     */
+    public User getUserReference() {
+        return userRepository.getReferenceById(currentUserId());
+    }
+
+    private User loadUser() {
+        return userRepository.findById(currentUserId())
                 .orElseThrow(() -> new OasisException("User not found"));
     }
 }
@@ -0,0 +1,62 @@
+-- Runs on every start, after Hibernate has updated the tables (spring.jpa.defer-datasource-initialization).
+-- Every statement must be idempotent.
+
+-- Ids: BaseModel tables take blocks of 50 ids from <table>_id_seq (pooled-lo). On databases created with identity
+-- columns this is the identity's own sequence, which is kept so that nodes still inserting through the identity
+-- default draw from the same counter. Hibernate picks up the new increment on the next start.
+ALTER SEQUENCE IF EXISTS public.tasks_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS public.task_categories_id_seq INCREMENT BY 50;
+
+-- Move a sequence past rows inserted with explicit ids (no-op when it is already ahead, so it never rewinds)
+SELECT setval('public.tasks_id_seq', (SELECT max(id) FROM public.tasks))
+WHERE (SELECT max(id) FROM public.tasks) >= (SELECT last_value FROM public.tasks_id_seq);
+
+SELECT setval('public.task_categories_id_seq', (SELECT max(id) FROM public.task_categories))
+WHERE (SELECT max(id) FROM public.task_categories) >= (SELECT last_value FROM public.task_categories_id_seq);
+
+-- Full text search: weighted document of a task (title A, description B), maintained by the database
+ALTER TABLE public.tasks ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS tasks_search_vector_idx ON public.tasks USING GIN (search_vector);
+
+-- Typeahead: trigram index for typo-tolerant matches and pattern index for prefix matches on titles.
+-- The trigram index leads with user_id (btree_gin), so that a match only scans the titles of one user
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX IF NOT EXISTS tasks_user_title_trgm_idx ON public.tasks USING GIN (user_id, lower(title) gin_trgm_ops);
+
+DROP INDEX IF EXISTS public.tasks_title_trgm_idx;
+
+CREATE INDEX IF NOT EXISTS tasks_title_prefix_idx ON public.tasks (user_id, lower(title) text_pattern_ops);
+
+-- Categories: one per user and case-insensitive title
+ALTER TABLE public.task_categories ADD COLUMN IF NOT EXISTS normalized_title text
+    GENERATED ALWAYS AS (lower(title)) STORED;
+
+-- Merge duplicates created before the unique index existed into the oldest category (no-op afterwards),
+-- leaving tombstones so that syncing clients drop the duplicates
+UPDATE public.tasks tks SET category_id = duplicate.keep_id, updated_at = now()
+FROM (
+    SELECT id, min(id) OVER (PARTITION BY user_id, normalized_title) AS keep_id FROM public.task_categories
+) duplicate
+WHERE tks.category_id = duplicate.id AND duplicate.id <> duplicate.keep_id;
+
+INSERT INTO public.task_tombstones (id, entity_type, entity_id, user_id, created_at, updated_at)
+SELECT nextval('public.task_tombstones_id_seq'), 'CATEGORY', duplicate.id, duplicate.user_id, now(), now()
+FROM (
+    SELECT id, user_id, min(id) OVER (PARTITION BY user_id, normalized_title) AS keep_id FROM public.task_categories
+) duplicate
+WHERE duplicate.id <> duplicate.keep_id;
+
+DELETE FROM public.task_categories category
+USING (
+    SELECT id, min(id) OVER (PARTITION BY user_id, normalized_title) AS keep_id FROM public.task_categories
+) duplicate
+WHERE category.id = duplicate.id AND duplicate.id <> duplicate.keep_id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS task_categories_user_title_key ON public.task_categories (user_id, normalized_title);
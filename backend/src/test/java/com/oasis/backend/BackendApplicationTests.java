@@ -3,7 +3,8 @@ package com.oasis.backend;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// Tests fail on any lazy association loaded outside a planned fetch
+@SpringBootTest(properties = "application.jpa.lazy-load-guard=fail")
 class BackendApplicationTests {
 
     @Test
@@ -0,0 +1,37 @@
+package com.oasis.backend;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base class of the JMH micro-benchmarks, which run without the application context or a database.
+ * Each one is a public {@code @State} class whose {@code @Benchmark} methods are run, in a forked JVM, by the
+ * {@link #run()} test. The {@code benchmark} profile runs them.
+ * <p></p>
+ * The results are the average time per operation, in nanoseconds, and the bytes allocated per operation
+ * ({@code gc.alloc.rate.norm}).
+ */
+public abstract class Microbenchmark {
+    @Test
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(getClass().getName() + "\\.")
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
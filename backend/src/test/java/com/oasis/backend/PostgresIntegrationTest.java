@@ -0,0 +1,134 @@
+package com.oasis.backend;
+
+import com.oasis.backend.core.session.AuthenticatedUser;
+import com.oasis.backend.domains.task.dto.TaskDto;
+import com.oasis.backend.enums.TaskPriority;
+import com.oasis.backend.enums.TaskStatus;
+import com.oasis.backend.models.User;
+import com.oasis.backend.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Base class of the tests running the application against a real PostgreSQL, started once in a container and
+ * shared by every test class. The tests are skipped when Docker is not available.
+ * <p></p>
+ * The container accepts replication connections, reachable as {@code postgres} on {@link #NETWORK}, so that a
+ * test can attach a streaming replica to it.
+ */
+@SpringBootTest(properties = {
+        "server.port=0",
+        "application.security.jwt-secret-key=35d82b3737b72bcc9f56308110a36b60631dd2d6597b3f21f7363dde9a8c294cd79640b8ea4f687f9b31a132e4cd947a433d504f68ffa808851ade5b4da49768",
+        "application.security.jwt-expiration-time=3600000",
+        "application.jpa.lazy-load-guard=fail",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+    protected static final Network NETWORK = Network.newNetwork();
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withNetwork(NETWORK)
+            .withNetworkAliases("postgres")
+            .withCopyToContainer(
+                    Transferable.of("echo 'host replication all all trust' >> \"$PGDATA/pg_hba.conf\"\n"),
+                    "/docker-entrypoint-initdb.d/replication.sh"
+            );
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected EntityManagerFactory entityManagerFactory;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        POSTGRES.start();
+
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Creates a new user and authenticates the current thread as that user.
+     *
+     * @return The user.
+     */
+    protected User signIn() {
+        User user = new User();
+        user.setEmailAddress(UUID.randomUUID() + "@oasis.test");
+        user.setPassword("password");
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user = userRepository.save(user);
+
+        signIn(user);
+        return user;
+    }
+
+    /**
+     * Authenticates the current thread as this user, as a request carrying their access token would be.
+     *
+     * @param user The user.
+     */
+    protected void signIn(User user) {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmailAddress(), user.getFirstName(), user.getLastName());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())
+        );
+    }
+
+    /**
+     * Builds a valid task, due tomorrow.
+     *
+     * @param category The title of its category.
+     * @param title    Its title.
+     * @return The task.
+     */
+    protected static TaskDto task(String category, String title) {
+        TaskDto task = new TaskDto();
+        task.setTitle(title);
+        task.setDescription("Description of " + title);
+        task.setPriority(TaskPriority.MEDIUM);
+        task.setStatus(TaskStatus.PENDING);
+        task.setCategory(category);
+        task.setDueDate(Date.from(Instant.now().plus(Duration.ofDays(1))));
+
+        return task;
+    }
+
+    /**
+     * Returns the Hibernate statistics, cleared. The tests collect them, the application only does when
+     * {@code HIBERNATE_STATISTICS} is true.
+     *
+     * @return The statistics.
+     */
+    protected Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        return statistics;
+    }
+}
@@ -0,0 +1,90 @@
+package com.oasis.backend.configurations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oasis.backend.Microbenchmark;
+import com.oasis.backend.configurations.exceptions.ApiResponseExceptionHandler;
+import com.oasis.backend.configurations.exceptions.ServerExceptionHandler;
+import com.oasis.backend.models.bases.ApiResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.core.AuthenticationException;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compares the ways of answering a request whose access token is rejected, as happens under a flood of invalid
+ * tokens: such a request goes on unauthenticated and is answered by {@link JwtAuthEntryPoint#commence}. The body
+ * is built and serialized with a new {@link ObjectMapper} per response, as the entry point first did, with the
+ * shared writer, and spliced into the body serialized at startup, as it does now.
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=ApiResponseWriterBenchmark}.
+ */
+@State(Scope.Benchmark)
+public class ApiResponseWriterBenchmark extends Microbenchmark {
+    private final AuthenticationException exception = new InsufficientAuthenticationException(
+            "Full authentication is required to access this resource"
+    );
+
+    private ApiResponseWriter apiResponseWriter;
+    private JwtAuthEntryPoint entryPoint;
+    private MockHttpServletRequest request;
+    // Reused, so that the benchmark measures the body rather than the mock
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        apiResponseWriter = new ApiResponseWriter(
+                Jackson2ObjectMapperBuilder.json().build(),
+                new ApiResponseExceptionHandler(new ServerExceptionHandler())
+        );
+        entryPoint = new JwtAuthEntryPoint(apiResponseWriter);
+
+        request = new MockHttpServletRequest();
+        request.setServletPath("/task/search");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse commenceWithNewMapper() throws IOException {
+        response.reset();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(401);
+        new ObjectMapper().writeValue(response.getOutputStream(), body());
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse commenceWithSharedWriter() {
+        response.reset();
+        response.setStatus(401);
+        apiResponseWriter.write(response, body());
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse commence() {
+        response.reset();
+        entryPoint.commence(request, response, exception);
+        return response;
+    }
+
+    // The body the entry point built on every response
+    private ApiResponse<Map<String, Object>> body() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("status", 401);
+        data.put("error", "Unauthorized");
+        data.put("message", exception.getMessage());
+        data.put("path", request.getServletPath());
+
+        return new ApiResponse<>("Invalid token. Please login", data, HttpStatus.FORBIDDEN);
+    }
+}
@@ -0,0 +1,50 @@
+package com.oasis.backend.configurations;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oasis.backend.configurations.exceptions.ApiResponseExceptionHandler;
+import com.oasis.backend.configurations.exceptions.ServerExceptionHandler;
+import com.oasis.backend.models.bases.ApiResponse;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JwtAuthEntryPointTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final JwtAuthEntryPoint entryPoint = new JwtAuthEntryPoint(
+            new ApiResponseWriter(objectMapper, new ApiResponseExceptionHandler(new ServerExceptionHandler()))
+    );
+
+    // The spliced body reads as the one serialized on every response used to
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = { "Full authentication is required to access this resource", "Quotes \" back\\slash \n and ünïcode" })
+    void writesTheSameBodyAsSerializingIt(String message) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setServletPath("/task/\"search\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        entryPoint.commence(request, response, new InsufficientAuthenticationException(message));
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("status", 401);
+        data.put("error", "Unauthorized");
+        data.put("message", message);
+        data.put("path", request.getServletPath());
+        JsonNode expected = objectMapper.valueToTree(new ApiResponse<>("Invalid token. Please login", data, HttpStatus.FORBIDDEN));
+
+        assertEquals(401, response.getStatus());
+        assertEquals(expected, objectMapper.readTree(response.getContentAsByteArray()));
+        assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+    }
+}
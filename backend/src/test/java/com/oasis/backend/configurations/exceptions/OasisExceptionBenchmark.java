@@ -0,0 +1,47 @@
+package com.oasis.backend.configurations.exceptions;
+
+import com.oasis.backend.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.function.Supplier;
+
+/**
+ * Measures what an expected business error costs when it is thrown below a stack as deep as that of a request
+ * handled by Spring: with the stack trace every {@link OasisException} used to capture, and stackless, as it is
+ * now unless its code asks for one.
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=OasisExceptionBenchmark}.
+ */
+@State(Scope.Benchmark)
+public class OasisExceptionBenchmark extends Microbenchmark {
+    @Param({ "20", "120" })
+    public int depth;
+
+    // What OasisException was before: a RuntimeException filling in its stack trace
+    @Benchmark
+    public String withStackTrace() {
+        return thrownAt(depth, () -> new RuntimeException("Task not found"));
+    }
+
+    @Benchmark
+    public String stackless() {
+        return thrownAt(depth, () -> new OasisException("Task not found"));
+    }
+
+    private static String thrownAt(int depth, Supplier<RuntimeException> exception) {
+        try {
+            return descend(depth, exception);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static String descend(int depth, Supplier<RuntimeException> exception) {
+        if (depth == 0) {
+            throw exception.get();
+        }
+        return descend(depth - 1, exception);
+    }
+}
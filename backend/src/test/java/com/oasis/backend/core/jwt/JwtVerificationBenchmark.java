@@ -0,0 +1,70 @@
+package com.oasis.backend.core.jwt;
+
+import com.oasis.backend.Microbenchmark;
+import com.oasis.backend.domains.auth.dtos.AuthDto;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Compares the checks made on the access token of an authenticated request: parsing it for each claim read,
+ * with a freshly derived key, as the session validation used to, and verifying it once.
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=JwtVerificationBenchmark}.
+ */
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark extends Microbenchmark {
+    private static final String SECRET_KEY = "35d82b3737b72bcc9f56308110a36b60631dd2d6597b3f21f7363dde9a8c294cd79640b8ea4f687f9b31a132e4cd947a433d504f68ffa808851ade5b4da49768";
+
+    private JwtImplementation jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtImplementation();
+        jwtService.JWT_SECRET_KEY = SECRET_KEY;
+        jwtService.JWT_EXPIRATION_TIME = 3_600_000L;
+        jwtService.init();
+
+        AuthDto auth = new AuthDto();
+        auth.setId(UUID.randomUUID());
+        auth.setEmailAddress("benchmark@oasis.test");
+        auth.setFirstName("Bench");
+        auth.setLastName("Mark");
+        token = jwtService.generateToken(auth);
+    }
+
+    // The expiration, subject, session and issuer checks, each parsing the token again
+    @Benchmark
+    public void parsePerClaim(Blackhole blackhole) {
+        blackhole.consume(claims().getExpiration().before(new Date()));
+        blackhole.consume(claims().getSubject());
+        blackhole.consume(claims().get("session", String.class));
+        blackhole.consume("Oasis".equals(claims().getIssuer()));
+    }
+
+    @Benchmark
+    public void verifyOnce(Blackhole blackhole) {
+        VerifiedToken verified = jwtService.verify(token);
+        blackhole.consume(verified.isExpired());
+        blackhole.consume(verified.getEmail());
+        blackhole.consume(verified.getItem("session"));
+        blackhole.consume(verified.isIssuedByOasis());
+    }
+
+    private Claims claims() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,67 @@
+package com.oasis.backend.core.ratelimit;
+
+import com.oasis.backend.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.UUID;
+
+/**
+ * Measures the overhead the {@link RateLimiter} adds to a request: for a user within budget, for a user over it,
+ * and with eight threads taking permits at once. The key is built from the user id on every call, as the
+ * {@code RateLimitFilter} does.
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=RateLimiterBenchmark}.
+ */
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark extends Microbenchmark {
+    private static final int USERS = 1 << 16;
+
+    private RateLimiter rateLimiter;
+    private UUID[] users;
+    private UUID flooding;
+
+    @Setup
+    public void setUp() {
+        rateLimiter = new RateLimiter();
+        rateLimiter.ENABLED = true;
+        rateLimiter.BUCKETS = 65536;
+        rateLimiter.init();
+
+        users = new UUID[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = UUID.randomUUID();
+        }
+        flooding = UUID.randomUUID();
+    }
+
+    /**
+     * The user of each thread, moving to the next on every call so that no budget runs out.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next = (int) Thread.currentThread().threadId() * 7919;
+
+        int next() {
+            return next++ & (USERS - 1);
+        }
+    }
+
+    @Benchmark
+    public long withinBudget(Cursor cursor) {
+        return rateLimiter.tryAcquire(RateLimitPolicy.TASK_BY_USER, users[cursor.next()].toString());
+    }
+
+    @Benchmark
+    public long overBudget() {
+        return rateLimiter.tryAcquire(RateLimitPolicy.TASK_BY_USER, flooding.toString());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long withinBudgetConcurrently(Cursor cursor) {
+        return rateLimiter.tryAcquire(RateLimitPolicy.TASK_BY_USER, users[cursor.next()].toString());
+    }
+}
@@ -0,0 +1,210 @@
+package com.oasis.backend.core.replica;
+
+import com.oasis.backend.PostgresIntegrationTest;
+import com.oasis.backend.core.notification.NotificationService;
+import com.oasis.backend.domains.task.responses.TaskCategoryResponse;
+import com.oasis.backend.domains.task.responses.TaskResponse;
+import com.oasis.backend.domains.task.service.TaskService;
+import com.oasis.backend.models.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs the read routing against a streaming replica of the test database. Pausing the replay on the replica
+ * makes it fall behind on demand, while the allowed lag is high enough for it to stay in use.
+ */
+@TestPropertySource(properties = {
+        "application.datasource.replica.enabled=true",
+        "application.datasource.replica.max-lag=1h",
+        "application.datasource.replica.lag-check-interval=100ms",
+        "application.datasource.replica.read-your-writes=2s"
+})
+class ReplicaRoutingTest extends PostgresIntegrationTest {
+    private static final GenericContainer<?> REPLICA = new GenericContainer<>("postgres:16-alpine")
+            .withNetwork(NETWORK)
+            .withExposedPorts(5432)
+            .withCreateContainerCmdModifier(command -> command.withUser("postgres"))
+            .withCommand("sh", "-c", """
+                until pg_basebackup -h postgres -U test -D "$PGDATA" -R -X stream; do rm -rf "$PGDATA"/*; sleep 1; done
+                chmod 700 "$PGDATA"
+                exec postgres
+            """)
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1));
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) {
+        POSTGRES.start();
+        REPLICA.start();
+
+        registry.add("application.datasource.replica.url", ReplicaRoutingTest::replicaUrl);
+        registry.add("application.datasource.replica.username", POSTGRES::getUsername);
+        registry.add("application.datasource.replica.password", POSTGRES::getPassword);
+    }
+
+    @Test
+    void readsTheReplicaUntilTheUserWrites() {
+        User user = signIn();
+        await("the user to reach the replica", () -> onReplica("select count(*) from public.users where id = ?", user.getId()) == 1);
+        await("reads to go to the replica", this::readsTheReplica);
+
+        taskService.create(task("Work", "Written"));
+
+        double replicaReads = reads("replica");
+        double primaryReads = reads("primary");
+        assertEquals(List.of("Written"), titles());
+        assertEquals(replicaReads, reads("replica"));
+        assertTrue(reads("primary") > primaryReads);
+    }
+
+    @Test
+    void readsThePrimaryOnceAnotherNodeAnnouncesAChange() throws SQLException {
+        User user = signIn();
+        TaskResponse task = taskService.create(task("Work", "Before")).getData();
+        await("the task to reach the replica", () -> onReplica("select count(*) from public.tasks where id = ?", task.getId()) == 1);
+        await("the read-your-writes window to end", this::readsTheReplica);
+
+        replay(false);
+        try {
+            // A task written through another node: committed on the primary, unknown to this node
+            jdbcTemplate.update("""
+                INSERT INTO public.tasks (id, title, description, priority, status, due_date, category_id, user_id, created_at, updated_at)
+                SELECT nextval('public.tasks_id_seq'), 'After', description, priority, status, due_date, category_id, user_id, now(), now()
+                FROM public.tasks WHERE id = ?
+            """, task.getId());
+            assertEquals(List.of("Before"), titles());
+
+            // Announced the way the task version tracker of that node does
+            notificationService.publish("oasis_task_version_changes", "another-node:" + user.getId());
+            await("the change to be read from the primary", () -> titles().equals(List.of("After", "Before")));
+        } finally {
+            replay(true);
+        }
+    }
+
+    @Test
+    void readsThePrimaryWhileTheReplicaReceivesNoWal() {
+        User user = signIn();
+        await("the user to reach the replica", () -> onReplica("select count(*) from public.users where id = ?", user.getId()) == 1);
+        await("reads to go to the replica", this::readsTheReplica);
+
+        // Stopping the WAL receiver leaves the received and replayed positions equal
+        String primaryConninfo = onReplica("show primary_conninfo");
+        onReplica("alter system set primary_conninfo = ''");
+        onReplica("select pg_reload_conf()");
+        try {
+            await("the WAL receiver to stop", () -> onReplica("select count(*)::text from pg_stat_wal_receiver").equals("0"));
+            await("reads to go to the primary", () -> !readsTheReplica());
+            assertEquals(0, meterRegistry.get("oasis.datasource.replica.usable").gauge().value());
+        } finally {
+            onReplica("alter system set primary_conninfo = '%s'".formatted(primaryConninfo.replace("'", "''")));
+            onReplica("select pg_reload_conf()");
+        }
+        await("reads to go back to the replica", this::readsTheReplica);
+    }
+
+    private boolean readsTheReplica() {
+        double replicaReads = reads("replica");
+        taskService.get(0, 20);
+
+        return reads("replica") > replicaReads;
+    }
+
+    private List<String> titles() {
+        return taskService.get(0, 20).getData().stream()
+                .map(TaskCategoryResponse::getTasks)
+                .flatMap(List::stream)
+                .map(TaskResponse::getTitle)
+                .sorted()
+                .toList();
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("oasis.datasource.replica.reads").tag("target", target).counter().count();
+    }
+
+    private static String replicaUrl() {
+        return "jdbc:postgresql://%s:%d/%s".formatted(REPLICA.getHost(), REPLICA.getMappedPort(5432), POSTGRES.getDatabaseName());
+    }
+
+    private static long onReplica(String sql, Object parameter) {
+        try (Connection connection = DriverManager.getConnection(replicaUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, parameter);
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                return result.getLong(1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String onReplica(String sql) {
+        try (Connection connection = DriverManager.getConnection(replicaUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+             Statement statement = connection.createStatement()) {
+            if (!statement.execute(sql)) {
+                return null;
+            }
+            try (ResultSet result = statement.getResultSet()) {
+                result.next();
+                return result.getString(1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void replay(boolean resume) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(replicaUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())) {
+            connection.createStatement().execute(resume ? "select pg_wal_replay_resume()" : "select pg_wal_replay_pause()");
+        }
+    }
+
+    private static void await(String description, BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for " + description);
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted waiting for " + description);
+            }
+        }
+    }
+}
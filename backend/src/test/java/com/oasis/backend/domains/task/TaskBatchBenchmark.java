@@ -0,0 +1,63 @@
+package com.oasis.backend.domains.task;
+
+import com.oasis.backend.PostgresIntegrationTest;
+import com.oasis.backend.domains.task.dto.TaskBatchDto;
+import com.oasis.backend.domains.task.dto.TaskDto;
+import com.oasis.backend.domains.task.service.TaskService;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares creating tasks one request at a time with creating them in one batch, on the default search engine.
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=TaskBatchBenchmark}.
+ */
+class TaskBatchBenchmark extends PostgresIntegrationTest {
+    private static final Logger log = LoggerFactory.getLogger(TaskBatchBenchmark.class);
+
+    @Autowired
+    private TaskService taskService;
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1000, 10000 })
+    void createOneByOneThenInOneBatch(int size) {
+        signIn();
+        // Warm up the connection pool, the category cache and the JIT
+        for (int i = 0; i < 200; i++) {
+            taskService.create(task("Warm up", "Task " + i));
+        }
+
+        Statistics statistics = statistics();
+        long start = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            taskService.create(task("One by one", "Task " + i));
+        }
+        report("one by one", size, System.nanoTime() - start, statistics);
+
+        List<TaskDto> creates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            creates.add(task("Batch", "Task " + i));
+        }
+        TaskBatchDto batch = new TaskBatchDto();
+        batch.setCreate(creates);
+
+        statistics = statistics();
+        start = System.nanoTime();
+        taskService.batch(batch);
+        report("batch", size, System.nanoTime() - start, statistics);
+    }
+
+    private static void report(String mode, int size, long nanos, Statistics statistics) {
+        log.info(
+                "{} tasks {}: {} ms, {} tasks/s, {} statements prepared, {} entities inserted",
+                size, mode, nanos / 1_000_000, Math.round(size * 1e9 / nanos),
+                statistics.getPrepareStatementCount(), statistics.getEntityInsertCount()
+        );
+    }
+}
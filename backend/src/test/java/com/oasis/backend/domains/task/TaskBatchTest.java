@@ -0,0 +1,137 @@
+package com.oasis.backend.domains.task;
+
+import com.oasis.backend.PostgresIntegrationTest;
+import com.oasis.backend.domains.task.dto.TaskBatchDto;
+import com.oasis.backend.domains.task.dto.TaskDto;
+import com.oasis.backend.domains.task.dto.TaskUpdateDto;
+import com.oasis.backend.domains.task.responses.TaskBatchResponse;
+import com.oasis.backend.domains.task.responses.TaskBatchResult;
+import com.oasis.backend.domains.task.responses.TaskCategoryResponse;
+import com.oasis.backend.domains.task.responses.TaskResponse;
+import com.oasis.backend.domains.task.search.TaskSearchEngine;
+import com.oasis.backend.domains.task.service.TaskService;
+import com.oasis.backend.models.User;
+import com.oasis.backend.repositories.TaskCategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TaskBatchTest extends PostgresIntegrationTest {
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCategoryRepository taskCategoryRepository;
+
+    @MockitoSpyBean
+    private TaskSearchEngine taskSearchEngine;
+
+    @Test
+    void reportsEachKindOfSearchChangeOncePerBatch() {
+        User user = signIn();
+        List<TaskDto> creates = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            creates.add(task("Work", "Task " + i));
+        }
+
+        clearInvocations(taskSearchEngine);
+        List<TaskBatchResult> created = taskService.batch(batch(creates, List.of(), List.of())).getData().getCreate();
+        verify(taskSearchEngine, times(1)).indexAll(eq(user.getId()), anyList());
+        verify(taskSearchEngine, never()).index(any(), any());
+
+        List<TaskUpdateDto> updates = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        for (int i = 0; i < created.size(); i++) {
+            if (i % 2 == 0) {
+                updates.add(update(created.get(i).getId(), "Home", "Moved " + i));
+            } else {
+                deletes.add(created.get(i).getId());
+            }
+        }
+
+        clearInvocations(taskSearchEngine);
+        taskService.batch(batch(List.of(), updates, deletes));
+        verify(taskSearchEngine, times(1)).indexAll(eq(user.getId()), anyList());
+        verify(taskSearchEngine, times(1)).removeAll(eq(user.getId()), eq(deletes));
+        verify(taskSearchEngine, never()).remove(any(), any());
+
+        List<TaskResponse> found = taskService.search("Moved", "Home", 0, 1000).getData();
+        assertEquals(updates.size(), found.size());
+    }
+
+    @Test
+    void createsNoCategoryForInvalidItems() {
+        User user = signIn();
+        TaskResponse task = taskService.create(task("Work", "Valid")).getData();
+
+        TaskDto invalidCreate = task("Never", "");
+        TaskUpdateDto invalidUpdate = update(task.getId(), "Nowhere", "Moved");
+        invalidUpdate.setDescription("");
+
+        TaskBatchResponse response = taskService.batch(
+                batch(List.of(invalidCreate), List.of(invalidUpdate), List.of())
+        ).getData();
+
+        assertFalse(response.getCreate().getFirst().getSuccess());
+        assertFalse(response.getUpdate().getFirst().getSuccess());
+        List<String> titles = taskCategoryRepository.findResponsesByUserId(user.getId()).stream()
+                .map(TaskCategoryResponse::getTitle)
+                .toList();
+        assertEquals(List.of("Work"), titles);
+        assertTrue(taskService.get(0, 20).getData().getFirst().getTasks().stream()
+                .anyMatch(listed -> listed.getTitle().equals("Valid")));
+    }
+
+    @Test
+    void failsOnlyTheItemsMissingARequiredField() {
+        signIn();
+        TaskDto noDueDate = task("Work", "No due date");
+        noDueDate.setDueDate(null);
+        TaskDto noStatus = task("Work", "No status");
+        noStatus.setStatus(null);
+
+        List<TaskBatchResult> created = taskService.batch(
+                batch(List.of(task("Work", "Valid"), noDueDate, noStatus), List.of(), List.of())
+        ).getData().getCreate();
+
+        assertTrue(created.get(0).getSuccess());
+        assertFalse(created.get(1).getSuccess());
+        assertEquals("Task due date cannot be empty", created.get(1).getMessage());
+        assertFalse(created.get(2).getSuccess());
+        assertEquals(List.of("Valid"), taskService.get(0, 20).getData().getFirst().getTasks().stream()
+                .map(TaskResponse::getTitle)
+                .toList());
+    }
+
+    private static TaskBatchDto batch(List<TaskDto> creates, List<TaskUpdateDto> updates, List<Long> deletes) {
+        TaskBatchDto batch = new TaskBatchDto();
+        batch.setCreate(creates);
+        batch.setUpdate(updates);
+        batch.setDelete(deletes);
+
+        return batch;
+    }
+
+    private static TaskUpdateDto update(Long id, String category, String title) {
+        TaskUpdateDto update = new TaskUpdateDto();
+        update.setId(id);
+        update.setCategory(category);
+        update.setTitle(title);
+
+        return update;
+    }
+}
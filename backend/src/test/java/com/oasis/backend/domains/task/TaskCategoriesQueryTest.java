@@ -0,0 +1,37 @@
+package com.oasis.backend.domains.task;
+
+import com.oasis.backend.PostgresIntegrationTest;
+import com.oasis.backend.domains.task.responses.TaskCategoryResponse;
+import com.oasis.backend.domains.task.service.TaskService;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskCategoriesQueryTest extends PostgresIntegrationTest {
+    @Autowired
+    private TaskService taskService;
+
+    // The categories, then the tasks of all of them: never one query per category
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    void loadsEveryCategoryInTwoStatements(int categories) {
+        signIn();
+        for (int category = 0; category < categories; category++) {
+            for (int task = 0; task < 3; task++) {
+                taskService.create(task("Category " + category, "Task " + task));
+            }
+        }
+
+        Statistics statistics = statistics();
+        List<TaskCategoryResponse> response = taskService.get(0, 2).getData();
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(categories, response.size());
+        response.forEach(category -> assertEquals(2, category.getTasks().size()));
+    }
+}
@@ -0,0 +1,104 @@
+package com.oasis.backend.domains.task;
+
+import com.oasis.backend.PostgresIntegrationTest;
+import com.oasis.backend.domains.task.service.TaskService;
+import com.oasis.backend.models.Session;
+import com.oasis.backend.models.User;
+import com.oasis.backend.repositories.SessionRepository;
+import com.oasis.backend.repositories.TaskCategoryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Compares the cached lookups of the categories and users with the second-level and query caches enabled and
+ * bypassed, reporting the statements each request runs. Every lookup runs in a read-only transaction of its own,
+ * as in a request, for each of {@code USERS} users with a category and a session.
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=TaskCategoryLookupBenchmark}.
+ */
+class TaskCategoryLookupBenchmark extends PostgresIntegrationTest {
+    private static final Logger log = LoggerFactory.getLogger(TaskCategoryLookupBenchmark.class);
+    private static final int USERS = 100;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCategoryRepository taskCategoryRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void lookUpWithAndWithoutTheCaches() {
+        List<User> users = new ArrayList<>(USERS);
+        Map<UUID, UUID> sessions = new HashMap<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = signIn();
+            taskService.create(task("Work", "First"));
+
+            Session session = new Session();
+            session.setUser(user);
+            sessions.put(user.getId(), sessionRepository.save(session).getId());
+            users.add(user);
+        }
+
+        for (CacheMode mode : List.of(CacheMode.IGNORE, CacheMode.NORMAL)) {
+            measure(mode, "TaskCategoryRepository.findByTitleIgnoreCaseAndUserId", users,
+                    user -> taskCategoryRepository.findByTitleIgnoreCaseAndUserId("WORK", user.getId()));
+            measure(mode, "UserRepository.findByEmailAddressIgnoreCase", users,
+                    user -> userRepository.findByEmailAddressIgnoreCase(user.getEmailAddress().toUpperCase(Locale.ROOT)));
+            measure(mode, "UserRepository.findBySessions_Id", users,
+                    user -> userRepository.findBySessions_Id(sessions.get(user.getId())));
+        }
+    }
+
+    private void measure(CacheMode mode, String lookup, List<User> users, Consumer<User> request) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        Consumer<User> run = user -> transaction.executeWithoutResult(status -> {
+            entityManager.unwrap(org.hibernate.Session.class).setCacheMode(mode);
+            request.accept(user);
+        });
+
+        // Once to fill the caches
+        users.forEach(run);
+
+        Statistics statistics = statistics();
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            users.forEach(run);
+        }
+        long nanos = System.nanoTime() - start;
+
+        int requests = USERS * ROUNDS;
+        log.info(
+                "{} with the caches {}: {} statements per request, {} us per request, {} query cache hits, {} misses",
+                lookup, mode == CacheMode.IGNORE ? "bypassed" : "enabled",
+                (double) statistics.getPrepareStatementCount() / requests, nanos / 1_000 / requests,
+                statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()
+        );
+    }
+}
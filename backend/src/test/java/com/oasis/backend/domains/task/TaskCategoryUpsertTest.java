@@ -0,0 +1,136 @@
+package com.oasis.backend.domains.task;
+
+import com.oasis.backend.PostgresIntegrationTest;
+import com.oasis.backend.core.cache.EntityCacheService;
+import com.oasis.backend.domains.task.responses.TaskCategoryResponse;
+import com.oasis.backend.domains.task.responses.TaskResponse;
+import com.oasis.backend.domains.task.service.TaskService;
+import com.oasis.backend.models.User;
+import com.oasis.backend.repositories.TaskCategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TaskCategoryUpsertTest extends PostgresIntegrationTest {
+    private static final int THREADS = 16;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCategoryRepository taskCategoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoSpyBean
+    private EntityCacheService entityCacheService;
+
+    @Test
+    void createsACategoryOnceUnderConcurrentRequests() throws Exception {
+        User user = signIn();
+        String[] titles = { "Errands", "ERRANDS", "errands", "ErrAnds" };
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<TaskResponse>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < THREADS; i++) {
+                String title = titles[i % titles.length];
+                results.add(executor.submit(() -> {
+                    signIn(user);
+                    start.await();
+                    return taskService.create(task(title, "Task in " + title)).getData();
+                }));
+            }
+            start.countDown();
+        }
+
+        List<Long> categoryIds = new ArrayList<>();
+        for (Future<TaskResponse> result : results) {
+            categoryIds.add(result.get().getCategoryId());
+        }
+        // Whichever spelling won the race
+        assertEquals(1, categoryIds.stream().distinct().count());
+        assertEquals(List.of("errands"), titles(user).stream().map(title -> title.toLowerCase(Locale.ROOT)).toList());
+        // Only the request that inserted the category evicts the cached lookups
+        verify(entityCacheService, times(1)).categoryChanged(eq(user.getId()), isNull());
+    }
+
+    @Test
+    void tellsACreatedCategoryFromAnExistingOne() {
+        User user = signIn();
+
+        TaskCategoryRepository.Upserted created = taskCategoryRepository.upsert("Work", user.getId());
+        TaskCategoryRepository.Upserted existing = taskCategoryRepository.upsert("WORK", user.getId());
+
+        assertTrue(created.getInserted());
+        assertFalse(existing.getInserted());
+        assertEquals(created.getId(), existing.getId());
+    }
+
+    @Test
+    void movesAnUpdatedTaskWithoutRenamingItsCategory() {
+        User user = signIn();
+        TaskResponse moved = taskService.create(task("Work", "Report")).getData();
+        TaskResponse staying = taskService.create(task("Work", "Slides")).getData();
+        TaskResponse home = taskService.create(task("Home", "Groceries")).getData();
+
+        // Moving to a category that exists, then to one that does not
+        TaskResponse updated = taskService.update(moved.getId(), task("home", "Report")).getData();
+        assertEquals(home.getCategoryId(), updated.getCategoryId());
+
+        updated = taskService.update(moved.getId(), task("Garden", "Report")).getData();
+        assertEquals(List.of("Garden", "Home", "Work"), titles(user));
+
+        Map<String, Long> categoryIds = taskCategoryRepository.findResponsesByUserId(user.getId()).stream()
+                .collect(Collectors.toMap(TaskCategoryResponse::getTitle, TaskCategoryResponse::getId));
+        assertEquals(categoryIds.get("Garden"), updated.getCategoryId());
+        assertEquals(categoryIds.get("Work"), staying.getCategoryId());
+    }
+
+    @Test
+    void forgetsACategoryCreatedByARolledBackTransaction() {
+        User user = signIn();
+        TaskResponse moved = taskService.create(task("Work", "Report")).getData();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            taskService.update(moved.getId(), task("Garden", "Report"));
+            status.setRollbackOnly();
+        });
+        assertEquals(List.of("Work"), titles(user));
+
+        // The category is created again, rather than its rolled back id taken from the cache
+        TaskResponse created = taskService.create(task("Garden", "Seeds")).getData();
+        assertEquals(List.of("Garden", "Work"), titles(user));
+        assertEquals(
+                taskCategoryRepository.upsert("Garden", user.getId()).getId(),
+                created.getCategoryId()
+        );
+    }
+
+    private List<String> titles(User user) {
+        return taskCategoryRepository.findResponsesByUserId(user.getId()).stream()
+                .map(TaskCategoryResponse::getTitle)
+                .sorted()
+                .toList();
+    }
+}
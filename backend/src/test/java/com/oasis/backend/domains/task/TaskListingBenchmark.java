@@ -0,0 +1,128 @@
+package com.oasis.backend.domains.task;
+
+import com.oasis.backend.PostgresIntegrationTest;
+import com.oasis.backend.core.mappers.TaskMapper;
+import com.oasis.backend.domains.task.responses.TaskResponse;
+import com.oasis.backend.domains.task.service.TaskService;
+import com.oasis.backend.models.Task;
+import com.oasis.backend.models.User;
+import com.oasis.backend.repositories.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Compares reading a page of tasks into managed entities copied by the {@link TaskMapper}, in a read-write
+ * transaction, as the listings used to, with reading it straight into {@link TaskResponse}s in a read-only one.
+ * Logs the median latency and the bytes allocated by the calling thread per page.
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=TaskListingBenchmark}.
+ */
+class TaskListingBenchmark extends PostgresIntegrationTest {
+    private static final Logger log = LoggerFactory.getLogger(TaskListingBenchmark.class);
+    private static final int TASKS = 1000;
+    private static final int WARMUP = 300;
+    private static final int RUNS = 1000;
+
+    private static final String ENTITIES = """
+        SELECT tks.* FROM public.tasks tks
+        WHERE tks.user_id = :userId AND tks.category_id = :categoryId
+        AND (tks.priority_rank, tks.due_date, tks.created_at, tks.id) > (:rank, :dueDate, :createdAt, :id)
+        ORDER BY tks.priority_rank, tks.due_date, tks.created_at, tks.id
+        LIMIT :limit
+    """;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @ParameterizedTest
+    @ValueSource(ints = { 20, 100 })
+    void readEntitiesThenResponses(int size) {
+        User user = signIn();
+        TaskResponse seed = taskService.create(task("Work", "Seed")).getData();
+        jdbcTemplate.update("""
+            INSERT INTO public.tasks (id, title, description, priority, status, due_date, category_id, user_id, created_at, updated_at)
+            SELECT nextval('public.tasks_id_seq'), title || ' ' || g, description, priority, status, due_date, category_id, user_id, now(), now()
+            FROM public.tasks CROSS JOIN generate_series(1, ?) AS g
+            WHERE id = ?
+        """, TASKS - 1, seed.getId());
+
+        UUID userId = user.getId();
+        Long categoryId = seed.getCategoryId();
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        measure("entities and mapper", size, () -> readWrite.execute(status -> {
+            @SuppressWarnings("unchecked")
+            List<Task> tasks = entityManager.createNativeQuery(ENTITIES, Task.class)
+                    .setParameter("userId", userId)
+                    .setParameter("categoryId", categoryId)
+                    .setParameter("rank", -1)
+                    .setParameter("dueDate", new Date(0))
+                    .setParameter("createdAt", Instant.EPOCH)
+                    .setParameter("id", 0L)
+                    .setParameter("limit", size)
+                    .getResultList();
+            return tasks.stream().map(taskMapper::toResponse).toList();
+        }));
+        measure("responses", size, () -> readOnly.execute(status ->
+                taskRepository.findPageAfter(userId, categoryId, -1, new Date(0), Instant.EPOCH, 0L, size)
+        ));
+    }
+
+    private static void measure(String path, int size, Supplier<List<TaskResponse>> page) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+
+        for (int i = 0; i < WARMUP; i++) {
+            page.get();
+        }
+
+        long[] nanos = new long[RUNS];
+        long allocated = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            if (page.get().size() != size) {
+                throw new IllegalStateException("Expected a full page of " + size + " tasks");
+            }
+            nanos[i] = System.nanoTime() - start;
+        }
+        allocated = threads.getThreadAllocatedBytes(thread) - allocated;
+        Arrays.sort(nanos);
+
+        log.info(
+                "Page of {} tasks, {}: median {} us, p99 {} us, {} KB allocated per page",
+                size, path, nanos[RUNS / 2] / 1_000, nanos[RUNS * 99 / 100] / 1_000, allocated / RUNS / 1024
+        );
+    }
+}
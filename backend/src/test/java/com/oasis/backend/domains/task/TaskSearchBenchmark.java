@@ -0,0 +1,102 @@
+package com.oasis.backend.domains.task;
+
+import com.oasis.backend.PostgresIntegrationTest;
+import com.oasis.backend.domains.task.responses.TaskResponse;
+import com.oasis.backend.domains.task.search.TaskSearchQuery;
+import com.oasis.backend.domains.task.service.TaskService;
+import com.oasis.backend.models.User;
+import com.oasis.backend.repositories.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+
+/**
+ * Compares the first page of a full text search over one user's tasks, computing the documents of every task at
+ * query time, as the search used to, and matching on the stored {@code search_vector} column and its GIN index
+ * through {@link TaskRepository#fullTextSearch}, with its count query, as the search engine runs it.
+ * The user has {@code benchmark.tasks} tasks in one category, 2,000,000 by default.
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=TaskSearchBenchmark -Dbenchmark.tasks=2000000}.
+ */
+class TaskSearchBenchmark extends PostgresIntegrationTest {
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchBenchmark.class);
+    private static final int TASKS = Integer.getInteger("benchmark.tasks", 2_000_000);
+    private static final String CATEGORY = "Benchmark";
+
+    // A common word (1 task in 5), a rare one (1 in 1,000), both, and a prefix matching every task
+    private static final String[] QUERIES = { "report", "invoice", "report invoice", "prep" };
+
+    private static final String BEFORE = """
+        SELECT tks.* FROM public.tasks tks
+        LEFT JOIN public.task_categories tksC ON tks.category_id = tksC.id
+        WHERE
+        (to_tsvector('english', tks.title) @@ to_tsquery(?)
+        OR to_tsvector('english', tks.description) @@ to_tsquery(?))
+        and tks.user_id = ? and upper(tksC.title) = upper(?)
+        GROUP BY tks.id, tks.title, tks.description, tks.priority
+        ORDER BY
+        CASE tks.priority
+        WHEN 'HIGH' THEN 0
+        WHEN 'MEDIUM' THEN 1
+        ELSE 2 END,
+        GREATEST(ts_rank_cd(to_tsvector('english', tks.title), to_tsquery(?)),
+        ts_rank_cd(to_tsvector('english', tks.description), to_tsquery(?))) DESC
+        LIMIT 20
+    """;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void searchBeforeAndAfterTheStoredDocument() {
+        User user = signIn();
+        TaskResponse seed = taskService.create(task(CATEGORY, "Seed")).getData();
+
+        long start = System.nanoTime();
+        jdbcTemplate.update("""
+            INSERT INTO public.tasks (id, title, description, priority, status, due_date, category_id, user_id, created_at, updated_at)
+            SELECT nextval('public.tasks_id_seq'),
+                (ARRAY['report', 'meeting', 'review', 'plan', 'draft'])[1 + g % 5] || ' ' ||
+                (ARRAY['budget', 'roadmap', 'hiring', 'launch'])[1 + g % 4] || ' ' || g,
+                'Prepare the ' || (ARRAY['quarterly', 'weekly', 'annual'])[1 + g % 3] || ' notes' ||
+                CASE WHEN g % 1000 = 0 THEN ' and the invoice' ELSE '' END,
+                (ARRAY['HIGH', 'MEDIUM', 'LOW'])[1 + g % 3], status, due_date, category_id, user_id, now(), now()
+            FROM public.tasks CROSS JOIN generate_series(1, ?) AS g
+            WHERE id = ?
+        """, TASKS, seed.getId());
+        jdbcTemplate.execute("ANALYZE public.tasks");
+        log.info("{} tasks loaded in {} s", TASKS, (System.nanoTime() - start) / 1_000_000_000);
+
+        for (String input : QUERIES) {
+            String query = TaskSearchQuery.toTsQuery(input);
+            double before = median(5, () -> jdbcTemplate.queryForList(BEFORE, query, query, user.getId(), CATEGORY, query, query));
+            double after = median(21, () -> taskRepository.fullTextSearch(query, user.getId(), CATEGORY, PageRequest.of(0, 20)));
+            log.info("Search '{}' over {} tasks: {} ms before, {} ms after", input, TASKS, before, after);
+        }
+    }
+
+    private static double median(int runs, Runnable search) {
+        // Once to warm the buffers and the plan cache
+        search.run();
+
+        long[] nanos = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            search.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        return nanos[runs / 2] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,107 @@
+package com.oasis.backend.domains.task;
+
+import com.oasis.backend.PostgresIntegrationTest;
+import com.oasis.backend.domains.task.responses.TaskResponse;
+import com.oasis.backend.domains.task.service.TaskService;
+import com.oasis.backend.models.User;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Measures the title suggestions of one user among {@code benchmark.tenants} users, 1,000 by default, holding
+ * {@code benchmark.tasks} tasks each, 500 by default, with titles drawn from the same words. It reports the p50
+ * and p99 latencies of {@link TaskService#suggest} against the 10 ms p99 budget, with the trigram index of
+ * schema.sql, leading with {@code user_id}, then with a trigram index on the titles of every user.
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=TaskSuggestBenchmark}.
+ */
+class TaskSuggestBenchmark extends PostgresIntegrationTest {
+    private static final Logger log = LoggerFactory.getLogger(TaskSuggestBenchmark.class);
+    private static final int TENANTS = Integer.getInteger("benchmark.tenants", 1_000);
+    private static final int TASKS = Integer.getInteger("benchmark.tasks", 500);
+    private static final double BUDGET_MS = 10;
+
+    // A prefix, a typo, a typo in the second word and a word every title shares a trigram with
+    private static final String[] QUERIES = { "rev", "repot", "meeting roadmp", "budget" };
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void suggestAmongManyTenants() {
+        List<User> tenants = new ArrayList<>(TENANTS);
+        for (int i = 1; i < TENANTS; i++) {
+            User tenant = new User();
+            tenant.setEmailAddress("tenant-" + i + "-" + System.nanoTime() + "@oasis.test");
+            tenant.setPassword("password");
+            tenant.setFirstName("Tenant");
+            tenant.setLastName(String.valueOf(i));
+            tenants.add(tenant);
+        }
+        userRepository.saveAll(tenants);
+        User user = signIn();
+        tenants.add(user);
+        TaskResponse seed = taskService.create(task("Benchmark", "Seed")).getData();
+
+        long start = System.nanoTime();
+        jdbcTemplate.update("""
+            INSERT INTO public.tasks (id, title, description, priority, status, due_date, category_id, user_id, created_at, updated_at)
+            SELECT nextval('public.tasks_id_seq'),
+                (ARRAY['report', 'meeting', 'review', 'plan', 'draft'])[1 + g % 5] || ' ' ||
+                (ARRAY['budget', 'roadmap', 'hiring', 'launch'])[1 + g % 4] || ' ' || g,
+                description, priority, status, due_date, category_id, tenant.id, now(), now()
+            FROM public.tasks
+            CROSS JOIN (SELECT id FROM public.users WHERE id = ANY(?::uuid[])) AS tenant
+            CROSS JOIN generate_series(1, ?) AS g
+            WHERE public.tasks.id = ?
+        """, tenants.stream().map(User::getId).toArray(UUID[]::new), TASKS, seed.getId());
+        jdbcTemplate.execute("ANALYZE public.tasks");
+        log.info("{} tasks of {} users loaded in {} s", TENANTS * TASKS, TENANTS, (System.nanoTime() - start) / 1_000_000_000);
+
+        report("per-user trigram index");
+
+        jdbcTemplate.execute("DROP INDEX public.tasks_user_title_trgm_idx");
+        jdbcTemplate.execute("CREATE INDEX tasks_title_trgm_idx ON public.tasks USING GIN (lower(title) gin_trgm_ops)");
+        jdbcTemplate.execute("ANALYZE public.tasks");
+        try {
+            report("trigram index of every user");
+        } finally {
+            jdbcTemplate.execute("DROP INDEX public.tasks_title_trgm_idx");
+            jdbcTemplate.execute("CREATE INDEX tasks_user_title_trgm_idx ON public.tasks USING GIN (user_id, lower(title) gin_trgm_ops)");
+        }
+    }
+
+    private void report(String index) {
+        for (String query : QUERIES) {
+            // Warm the buffers and the plan cache
+            for (int i = 0; i < 20; i++) {
+                taskService.suggest(query, 10);
+            }
+
+            long[] nanos = new long[200];
+            for (int i = 0; i < nanos.length; i++) {
+                long start = System.nanoTime();
+                taskService.suggest(query, 10);
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+
+            double p50 = nanos[nanos.length / 2] / 1_000_000.0;
+            double p99 = nanos[nanos.length * 99 / 100] / 1_000_000.0;
+            log.info(
+                    "Suggest '{}' with the {}: p50 {} ms, p99 {} ms, {} the {} ms budget",
+                    query, index, p50, p99, p99 < BUDGET_MS ? "within" : "over", BUDGET_MS
+            );
+        }
+    }
+}
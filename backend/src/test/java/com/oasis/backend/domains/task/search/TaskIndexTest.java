@@ -0,0 +1,70 @@
+package com.oasis.backend.domains.task.search;
+
+import com.oasis.backend.domains.task.responses.TaskResponse;
+import com.oasis.backend.enums.TaskPriority;
+import com.oasis.backend.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskIndexTest {
+    private static final long WORK = 1;
+    private static final long HOME = 2;
+
+    @Test
+    void ranksTheRarerTermHigher() {
+        TaskIndex index = index();
+        for (long id = 100; id < 105; id++) {
+            index.put(HOME, task(id, "other", "beta"));
+        }
+
+        // alpha is in 2 live tasks and beta in 7, so the title match on alpha weighs more
+        assertEquals(List.of(1L, 2L), ids(index.search("Work", "alpha beta", 0, 10)));
+    }
+
+    @Test
+    void leavesRemovedTasksOutOfTheDocumentFrequencies() {
+        TaskIndex index = index();
+        for (long id = 100; id < 105; id++) {
+            index.put(HOME, task(id, "other", "beta"));
+        }
+        // Fewer removals than it takes to compact the index
+        for (long id = 200; id < 220; id++) {
+            index.put(HOME, task(id, "other", "alpha"));
+        }
+        for (long id = 200; id < 220; id++) {
+            index.remove(id);
+        }
+
+        assertEquals(List.of(1L, 2L), ids(index.search("Work", "alpha beta", 0, 10)));
+    }
+
+    @Test
+    void findsNothingForATermOnlyInRemovedTasks() {
+        TaskIndex index = index();
+        index.put(WORK, task(300, "gamma", "delta"));
+        index.remove(300);
+
+        assertEquals(List.of(), index.search("Work", "gamma", 0, 10));
+    }
+
+    private static TaskIndex index() {
+        TaskIndex index = new TaskIndex();
+        index.putCategory(WORK, "Work");
+        index.putCategory(HOME, "Home");
+        index.put(WORK, task(1, "alpha", "beta"));
+        index.put(WORK, task(2, "beta", "alpha"));
+
+        return index;
+    }
+
+    private static TaskResponse task(long id, String title, String description) {
+        return new TaskResponse(id, title, description, TaskPriority.HIGH, TaskStatus.PENDING, null, null, null, null);
+    }
+
+    private static List<Long> ids(List<TaskResponse> tasks) {
+        return tasks.stream().map(TaskResponse::getId).toList();
+    }
+}
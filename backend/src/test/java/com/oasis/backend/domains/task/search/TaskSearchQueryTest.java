@@ -0,0 +1,66 @@
+package com.oasis.backend.domains.task.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TaskSearchQueryTest {
+    @ParameterizedTest
+    @CsvSource(delimiterString = "=>", value = {
+            "report                  => report:*",
+            "Report Budget           => report & budget:*",
+            "'report budget '        => report & budget",
+            "report or budget        => report | budget:*",
+            "report OR budget plan   => report | budget & plan:*",
+            "report -budget          => report & !budget",
+            "-budget report          => !budget & report:*",
+            "'  report   budget  '   => report & budget",
+    })
+    void combinesTheWords(String input, String expected) {
+        assertEquals(expected, TaskSearchQuery.toTsQuery(input));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiterString = "=>", value = {
+            // Without a word on both sides, or is a word to search
+            "or                      => or:*",
+            "or report               => or & report:*",
+            "report or               => report & or:*",
+            "-or report              => !or & report:*",
+    })
+    void searchesOrWhenItJoinsNothing(String input, String expected) {
+        assertEquals(expected, TaskSearchQuery.toTsQuery(input));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiterString = "=>", value = {
+            "report & budget         => report & budget:*",
+            "report | budget         => report & budget:*",
+            "'rep''ort (budget):*'   => report & budget:*",
+            "'report !budget'        => report & budget:*",
+            "report <-> budget       => report & budget:*",
+            "'report\\ budget'       => report & budget:*",
+            "Café-Crème              => cafécrème:*",
+            "report2024              => report2024:*",
+    })
+    void keepsOnlyLettersAndDigits(String input, String expected) {
+        assertEquals(expected, TaskSearchQuery.toTsQuery(input));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = { "   ", "-", "!!! &|:*()", "' \\ ;", "-report", "-report -budget", "- -" })
+    void holdsNoSearchableWord(String input) {
+        assertNull(TaskSearchQuery.toTsQuery(input));
+    }
+
+    @Test
+    void escapesTheLikeWildcardsOfAPrefix() {
+        assertEquals("50\\% off\\_sale\\\\%", TaskSearchQuery.toPrefixPattern(" 50% Off_Sale\\ "));
+    }
+}
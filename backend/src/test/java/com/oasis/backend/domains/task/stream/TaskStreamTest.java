@@ -0,0 +1,296 @@
+package com.oasis.backend.domains.task.stream;
+
+import com.oasis.backend.PostgresIntegrationTest;
+import com.oasis.backend.core.session.SessionService;
+import com.oasis.backend.domains.task.service.TaskService;
+import com.oasis.backend.models.User;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Opens task streams through the controller and follows what they receive. Events go through the notifications
+ * of the test database, as they do between nodes.
+ */
+@TestPropertySource(properties = {
+        "application.task.stream.max-connections=4",
+        "application.task.stream.queue-capacity=8",
+        "application.task.stream.replay-size=4"
+})
+class TaskStreamTest extends PostgresIntegrationTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SessionService sessionService;
+
+    private final List<MvcResult> streams = new ArrayList<>();
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private MockMvc mvc;
+
+    @BeforeEach
+    void mockMvc() {
+        // The event writes of the streams asking for it block until the test lets them go, as a client not reading
+        // would. Writes made by the request thread itself, when the emitter starts, go through
+        Filter slowClient = (request, response, chain) -> chain.doFilter(
+                request,
+                request.getParameter("slow") != null ? new BlockingResponse((HttpServletResponse) response, unblock) : response
+        );
+        mvc = MockMvcBuilders.webAppContextSetup(context).addFilter(slowClient, "/task/stream").build();
+    }
+
+    @AfterEach
+    void closeStreams() {
+        unblock.countDown();
+        // Completes the requests as the container would when the client goes away
+        streams.forEach(stream -> stream.getRequest().getAsyncContext().complete());
+    }
+
+    @Test
+    void replaysTheEventsMissedSinceTheLastEventId() throws Exception {
+        signIn();
+        MvcResult first = stream(null);
+        taskService.create(task("Work", "Received"));
+        String lastEventId = await(first, "Received");
+
+        taskService.create(task("Work", "Missed"));
+        taskService.create(task("Work", "Also missed"));
+        await(first, "Also missed");
+
+        MvcResult reconnected = stream(lastEventId);
+        awaitContent(reconnected, "Also missed");
+        String content = content(reconnected);
+        assertTrue(content.contains("Missed"));
+        assertFalse(content.contains("Received"));
+        assertFalse(content.contains("RESYNC"));
+    }
+
+    @Test
+    void resyncsWhenTheLastEventIdIsNoLongerKept() throws Exception {
+        signIn();
+        MvcResult first = stream(null);
+        taskService.create(task("Work", "Forgotten"));
+        String lastEventId = await(first, "Forgotten");
+
+        // More events than the replay buffer holds
+        for (int i = 0; i < 5; i++) {
+            taskService.create(task("Work", "Task " + i));
+        }
+        await(first, "Task 4");
+
+        MvcResult reconnected = stream(lastEventId);
+        awaitContent(reconnected, "RESYNC");
+        assertFalse(content(reconnected).contains("Task 4"));
+
+        MvcResult unknown = stream("00000000-0000-7000-8000-000000000000");
+        awaitContent(unknown, "RESYNC");
+    }
+
+    @Test
+    void disconnectsAClientThatDoesNotKeepUp() throws Exception {
+        signIn();
+        MvcResult slow = mvc.perform(get("/task/stream").param("slow", "true")).andReturn();
+        assertTrue(slow.getRequest().isAsyncStarted());
+        streams.add(slow);
+
+        // The writer of the stream is stuck on its first write, so its queue of 8 fills up
+        for (int i = 0; i < 10; i++) {
+            taskService.create(task("Work", "Task " + i));
+        }
+        awaitClosed(slow);
+
+        // The queued events are dropped rather than written once the client reads again
+        unblock.countDown();
+        assertFalse(content(slow).contains("Task 9"));
+    }
+
+    @Test
+    void refusesStreamsOverTheMaximum() throws Exception {
+        signIn();
+        List<MvcResult> open = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            open.add(stream(null));
+        }
+
+        MvcResult refused = mvc.perform(get("/task/stream")).andReturn();
+        assertFalse(refused.getRequest().isAsyncStarted());
+        assertTrue(refused.getResponse().getContentAsString().contains("Too many open streams"));
+
+        // A closed stream frees its place
+        open.getFirst().getRequest().getAsyncContext().complete();
+        streams.remove(open.getFirst());
+        assertTrue(stream(null).getRequest().isAsyncStarted());
+    }
+
+    @Test
+    void closesTheStreamsOfAUserSigningOut() throws Exception {
+        User other = signIn();
+        MvcResult staying = stream(null);
+
+        signIn();
+        MvcResult leaving = stream(null);
+        MvcResult leavingElsewhere = stream(null);
+        sessionService.signOut();
+
+        awaitClosed(leaving);
+        awaitClosed(leavingElsewhere);
+
+        signIn(other);
+        taskService.create(task("Work", "Still streaming"));
+        await(staying, "Still streaming");
+        assertFalse(isClosed(staying));
+    }
+
+    private MvcResult stream(String lastEventId) throws Exception {
+        MvcResult result = mvc.perform(lastEventId == null
+                ? get("/task/stream")
+                : get("/task/stream").header("Last-Event-ID", lastEventId)
+        ).andReturn();
+
+        assertTrue(result.getRequest().isAsyncStarted());
+        streams.add(result);
+        awaitContent(result, ":connected");
+        return result;
+    }
+
+    /**
+     * Waits for the stream to receive an event holding the text.
+     *
+     * @return The id of the event.
+     */
+    private static String await(MvcResult stream, String text) {
+        awaitContent(stream, text);
+
+        String[] events = content(stream).split("\n\n");
+        for (String event : events) {
+            if (event.contains(text)) {
+                return event.lines()
+                        .filter(line -> line.startsWith("id:"))
+                        .map(line -> line.substring(3))
+                        .findFirst()
+                        .orElseThrow();
+            }
+        }
+        throw new AssertionError("No event holds " + text);
+    }
+
+    private static void awaitContent(MvcResult stream, String text) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!content(stream).contains(text)) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for the stream to receive " + text);
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+
+    private static String content(MvcResult stream) {
+        return new String(stream.getResponse().getContentAsByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Waits for the server to end the stream. Fails if it does not.
+     */
+    private static void awaitClosed(MvcResult stream) {
+        stream.getAsyncResult(TIMEOUT.toMillis());
+    }
+
+    private static boolean isClosed(MvcResult stream) {
+        try {
+            stream.getAsyncResult(100);
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    /**
+     * A response whose body writes from other threads than the request thread wait for the latch.
+     */
+    private static class BlockingResponse extends HttpServletResponseWrapper {
+        private final CountDownLatch latch;
+        private final Thread requestThread = Thread.currentThread();
+        private ServletOutputStream outputStream;
+
+        BlockingResponse(HttpServletResponse response, CountDownLatch latch) {
+            super(response);
+            this.latch = latch;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        awaitLatch();
+                        delegate.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] bytes, int offset, int length) throws IOException {
+                        awaitLatch();
+                        delegate.write(bytes, offset, length);
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        delegate.setWriteListener(listener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        private void awaitLatch() throws IOException {
+            if (Thread.currentThread() == requestThread) {
+                return;
+            }
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+    }
+}
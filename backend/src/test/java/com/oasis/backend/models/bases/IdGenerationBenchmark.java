@@ -0,0 +1,94 @@
+package com.oasis.backend.models.bases;
+
+import com.oasis.backend.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Compares the id strategies of the entities on scratch tables, with the statements Hibernate issues for each:
+ * <ul>
+ *     <li>{@link BaseModel}: an identity column, one insert per row returning its id, against a sequence
+ *     handing out blocks of 50 ids, one insert batch per block;</li>
+ *     <li>{@link BaseEntity}: random UUIDs against {@link UuidV7Generator} ones, by insert time and size of the
+ *     primary key index.</li>
+ * </ul>
+ * Each table gets {@code benchmark.rows} rows, 500,000 by default.
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=IdGenerationBenchmark}.
+ */
+class IdGenerationBenchmark extends PostgresIntegrationTest {
+    private static final Logger log = LoggerFactory.getLogger(IdGenerationBenchmark.class);
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 500_000);
+    private static final int BLOCK = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void dropTables() {
+        jdbcTemplate.execute("""
+            DROP TABLE IF EXISTS benchmark_identity_ids, benchmark_pooled_ids, benchmark_random_ids, benchmark_v7_ids;
+            DROP SEQUENCE IF EXISTS benchmark_pooled_ids_seq;
+        """);
+    }
+
+    @Test
+    void identityAgainstPooledSequence() {
+        jdbcTemplate.execute("CREATE TABLE benchmark_identity_ids (id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, title text)");
+        jdbcTemplate.execute("CREATE SEQUENCE benchmark_pooled_ids_seq INCREMENT BY " + BLOCK);
+        jdbcTemplate.execute("CREATE TABLE benchmark_pooled_ids (id bigint PRIMARY KEY, title text)");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            jdbcTemplate.queryForObject("INSERT INTO benchmark_identity_ids (title) VALUES (?) RETURNING id", Long.class, "Task " + i);
+        }
+        report("identity", "benchmark_identity_ids", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROWS; i += BLOCK) {
+            Long low = jdbcTemplate.queryForObject("SELECT nextval('benchmark_pooled_ids_seq')", Long.class);
+            List<Object[]> rows = new ArrayList<>(BLOCK);
+            for (int offset = 0; offset < BLOCK && i + offset < ROWS; offset++) {
+                rows.add(new Object[] { low + offset, "Task " + (i + offset) });
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO benchmark_pooled_ids (id, title) VALUES (?, ?)", rows);
+        }
+        report("pooled sequence", "benchmark_pooled_ids", System.nanoTime() - start);
+    }
+
+    @Test
+    void randomAgainstTimeOrderedUuids() {
+        insertUuids("random UUIDs", "benchmark_random_ids", UUID::randomUUID);
+        insertUuids("UUIDv7", "benchmark_v7_ids", UuidV7Generator::generate);
+    }
+
+    private void insertUuids(String strategy, String table, Supplier<UUID> ids) {
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id uuid PRIMARY KEY, created_at timestamptz NOT NULL DEFAULT now())");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i += BLOCK) {
+            List<Object[]> rows = new ArrayList<>(BLOCK);
+            for (int offset = 0; offset < BLOCK && i + offset < ROWS; offset++) {
+                rows.add(new Object[] { ids.get() });
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO " + table + " (id) VALUES (?)", rows);
+        }
+        report(strategy, table, System.nanoTime() - start);
+    }
+
+    private void report(String strategy, String table, long nanos) {
+        Long indexBytes = jdbcTemplate.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class, table + "_pkey");
+        log.info(
+                "{} rows, {}: {} ms, {} rows/s, primary key index {} MB",
+                ROWS, strategy, nanos / 1_000_000, Math.round(ROWS * 1e9 / nanos), indexBytes / (1024 * 1024)
+        );
+    }
+}